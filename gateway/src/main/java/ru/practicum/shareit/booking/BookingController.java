@@ -13,6 +13,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingBulkDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.exception.ValidateException;
@@ -20,7 +22,9 @@ import ru.practicum.shareit.exception.ValidateException;
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.util.List;
 
+import static ru.practicum.shareit.util.Constants.MAX_BATCH_SIZE;
 import static ru.practicum.shareit.util.Constants.X_SHARER_USER_ID;
 
 @Controller
@@ -32,14 +36,19 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAllByBooker(
+    public Mono<ResponseEntity<Object>> getAllByBooker(
             @RequestHeader(value = "X-Sharer-User-Id") long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @RequestParam(name = "from", required = false) @Min(0) Integer from,
+            @RequestParam(name = "cursor", required = false) String cursor,
             @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(50) Integer size
     ) {
         final BookingState state = getBookingState(stateParam);
         log.debug(X_SHARER_USER_ID, userId);
+        if (cursor != null) {
+            log.debug("Request received GET '/bookings?state={}&cursor={}&size={}'", state, cursor, size);
+            return bookingClient.getBookings(userId, state, cursor, size);
+        }
         if (from == null) {
             log.debug("Request received GET '/bookings?state={}'", state);
             return bookingClient.getBookings(userId, state);
@@ -49,14 +58,19 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllByOwner(
+    public Mono<ResponseEntity<Object>> getAllByOwner(
             @RequestHeader(value = "X-Sharer-User-Id") long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @RequestParam(name = "from", required = false) @Min(0) Integer from,
+            @RequestParam(name = "cursor", required = false) String cursor,
             @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(50) Integer size
     ) {
         final BookingState state = getBookingState(stateParam);
         log.debug(X_SHARER_USER_ID, userId);
+        if (cursor != null) {
+            log.debug("Request received GET '/bookings/owner?state={}&cursor={}&size={}'", state, cursor, size);
+            return bookingClient.getAllByOwner(userId, state, cursor, size);
+        }
         if (from == null) {
             log.debug("Request received GET '/bookings/owner?state={}'", state);
             return bookingClient.getAllByOwner(userId, state);
@@ -66,8 +80,8 @@ public class BookingController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @RequestBody @Valid BookingDto requestDto) {
+    public Mono<ResponseEntity<Object>> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestBody @Valid BookingDto requestDto) {
         log.debug(X_SHARER_USER_ID, userId);
         log.info("Creating booking {}", requestDto);
         if (!isStartBeforeEnd(requestDto)) {
@@ -76,16 +90,37 @@ public class BookingController {
         return bookingClient.bookItem(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> bookItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                  @RequestBody List<BookingDto> requestDtos) {
+        log.debug(X_SHARER_USER_ID, userId);
+        log.info("Creating batch of {} bookings", requestDtos.size());
+        if (requestDtos.isEmpty() || requestDtos.size() > MAX_BATCH_SIZE) {
+            throw new ValidateException(String.format("Batch must contain from 1 to %d bookings.", MAX_BATCH_SIZE));
+        }
+        return bookingClient.bookItems(userId, requestDtos);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingByIdForUser(@RequestHeader(value = "X-Sharer-User-Id") long userId,
-                                                        @PathVariable(name = "bookingId") long bookingId) {
+    public Mono<ResponseEntity<Object>> getBookingByIdForUser(@RequestHeader(value = "X-Sharer-User-Id") long userId,
+                                                              @PathVariable(name = "bookingId") long bookingId) {
         log.debug("Request received GET '/bookings/{}'", bookingId);
         log.debug(X_SHARER_USER_ID, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
 
+    @PatchMapping("/bulk")
+    public Mono<ResponseEntity<Object>> approveAll(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @RequestBody @Valid BookingBulkDto decision
+    ) {
+        log.debug("Request received PATCH '/bookings/bulk' : {}", decision);
+        log.debug(X_SHARER_USER_ID, userId);
+        return bookingClient.setApproveStatus(userId, decision);
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approve(
+    public Mono<ResponseEntity<Object>> approve(
             @RequestHeader(value = "X-Sharer-User-Id") long userId,
             @PathVariable(name = "bookingId") long bookingId,
             @RequestParam(name = "approved", required = false) boolean isApproved
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static ru.practicum.shareit.util.Constants.MAX_BATCH_SIZE;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBulkDto {
+    @NotEmpty(message = "Booking ids cannot be empty")
+    @Size(max = MAX_BATCH_SIZE, message = "Too many booking ids")
+    private List<@NotNull Long> bookingIds;// брони, по которым принимается решение
+
+    @NotNull(message = "Approved cannot be null")
+    private Boolean approved;// подтвердить или отклонить
+}
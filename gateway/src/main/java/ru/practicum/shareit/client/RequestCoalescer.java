@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for GET requests to shareit-server.
+ * Identical GETs (same uri and user) that arrive while the first one is in flight subscribe to its call
+ * and get the same response bytes. Only paths starting with one of shareit-server.coalescing.paths
+ * are coalesced, an empty list turns coalescing off
+ */
+@Slf4j
+@Component
+public class RequestCoalescer {
+    private final Map<String, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final String[] pathPrefixes;
+    private final Counter coalesced;
+
+    public RequestCoalescer(@Value("${shareit-server.coalescing.paths}") String[] pathPrefixes,
+                            MeterRegistry meterRegistry) {
+        this.pathPrefixes = pathPrefixes;
+        this.coalesced = Counter.builder("shareit.gateway.requests.coalesced")
+                .description("GET requests served by a call already in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param uri    expanded request uri
+     * @param userId X-Sharer-User-Id, may be null
+     * @param call   sends the request, subscribed once per coalesced group
+     */
+    public Mono<ResponseEntity<Object>> coalesce(String uri, Long userId, Supplier<Mono<ResponseEntity<Object>>> call) {
+        if (!isCoalesced(uri)) {
+            return call.get();
+        }
+        final String key = userId + " " + uri;
+        return Mono.defer(() -> {
+            Mono<ResponseEntity<Object>> existing = inFlight.get(key);
+            if (existing == null) {
+                final AtomicReference<Mono<ResponseEntity<Object>>> self = new AtomicReference<>();
+                final Mono<ResponseEntity<Object>> shared = call.get()
+                        .doFinally(signal -> inFlight.remove(key, self.get()))
+                        .share();
+                self.set(shared);
+                existing = inFlight.putIfAbsent(key, shared);
+                if (existing == null) {
+                    return shared;
+                }
+            }
+            coalesced.increment();
+            log.debug("GET {} for user {} joined the call in flight", uri, userId);
+            return existing;
+        });
+    }
+
+    private boolean isCoalesced(String uri) {
+        for (String prefix : pathPrefixes) {
+            if (uri.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
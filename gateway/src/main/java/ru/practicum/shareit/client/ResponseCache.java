@@ -0,0 +1,304 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bounded LRU cache of server GET responses by user and uri, bodies are kept gzip-compressed.
+ * Only 200 responses with an ETag or Last-Modified are stored, unless Cache-Control has no-store.
+ * A response is served from the cache while its max-age lasts, after that (or at once without max-age)
+ * it is revalidated with If-None-Match/If-Modified-Since and a 304 from the server renews it.
+ * The cache is bounded both by the number of responses and by their total compressed size,
+ * least recently used responses are evicted first.
+ * Writes through a client evict the cached responses under its path prefix and under the prefixes
+ * of resources whose responses embed the changed data (see the clients' constructors).
+ * A fresh hit is not checked with the server, so responses must not be given a max-age while the server data
+ * can change past this gateway (other gateway instances, scheduled jobs): the server sends only ETags for this reason.
+ * Hits, revalidations, misses, evictions and size are published as cache.* meters with tag cache=serverResponse
+ */
+@Slf4j
+@Component
+public class ResponseCache implements MeterBinder {
+    static final String CACHE_NAME = "serverResponse";
+    private static final int MAX_BODY_SIZE = 1024 * 1024;
+
+    private final int maxSize;
+    private final long maxBytes;
+    private final Map<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long version;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ResponseCache(@Value("${shareit-server.cache.max-size}") int maxSize,
+                         @Value("${shareit-server.cache.max-bytes}") long maxBytes) {
+        this.maxSize = maxSize;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get a fresh cached response or send the request, conditional if a stale response is cached
+     * @param uri    expanded request uri
+     * @param userId X-Sharer-User-Id, may be null
+     * @param call   sends the request with the given conditional headers
+     * @return response with the body as byte array
+     */
+    public Mono<ResponseEntity<Object>> get(String uri, @Nullable Long userId,
+                                            Function<HttpHeaders, Mono<ResponseEntity<Object>>> call) {
+        if (maxSize <= 0 || maxBytes <= 0) {
+            return call.apply(HttpHeaders.EMPTY);
+        }
+        final String key = userId + " " + uri;
+        return Mono.defer(() -> {
+            final CachedResponse cached;
+            final long loadVersion;
+            final long currentTime = System.currentTimeMillis();
+            synchronized (this) {
+                cached = entries.get(key);
+                loadVersion = version;
+            }
+            if (cached != null && cached.isFreshAt(currentTime)) {
+                hits.increment();
+                return Mono.just(cached.toResponse(HttpStatus.OK));
+            }
+            final HttpHeaders conditions = new HttpHeaders();
+            if (cached != null) {
+                if (cached.headers.getETag() != null) {
+                    conditions.setIfNoneMatch(cached.headers.getETag());
+                } else {
+                    conditions.setIfModifiedSince(cached.headers.getLastModified());
+                }
+            }
+            return call.apply(conditions).map(response -> {
+                if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                    revalidations.increment();
+                    final CachedResponse renewed = cached.renew(response.getHeaders(), currentTime);
+                    store(key, renewed, loadVersion);
+                    return renewed.toResponse(HttpStatus.OK);
+                }
+                misses.increment();
+                if (response.getStatusCode() == HttpStatus.OK) {
+                    final CachedResponse entry = CachedResponse.of(response, currentTime);
+                    if (entry != null) {
+                        store(key, entry, loadVersion);
+                    } else if (cached != null) {
+                        remove(key);
+                    }
+                }
+                return response;
+            });
+        });
+    }
+
+    /**
+     * Evict cached responses of all users with uri starting with one of the prefixes
+     * @param uriPrefixes path prefixes of the changed resources
+     */
+    public synchronized void invalidate(String... uriPrefixes) {
+        version++;
+        final Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, CachedResponse> entry = iterator.next();
+            final String key = entry.getKey();
+            for (String uriPrefix : uriPrefixes) {
+                if (key.startsWith(uriPrefix, key.indexOf(' ') + 1)) {
+                    totalBytes -= entry.getValue().weight();
+                    iterator.remove();
+                    invalidations.increment();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of cached responses
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return total compressed size of cached responses
+     */
+    public synchronized long bytes() {
+        return totalBytes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .description("Responses returned from the cache without a server call")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", revalidations, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME, "result", "revalidated")
+                .description("Cached responses confirmed by the server with 304")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .description("Responses loaded from the server")
+                .register(registry);
+        FunctionCounter.builder("cache.invalidations", invalidations, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME)
+                .description("Responses dropped because of writes to their path")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME)
+                .description("Responses evicted because of the size limit")
+                .register(registry);
+        Gauge.builder("cache.size", this, ResponseCache::size)
+                .tags("cache", CACHE_NAME)
+                .description("Number of cached responses")
+                .register(registry);
+        Gauge.builder("cache.bytes", this, ResponseCache::bytes)
+                .tags("cache", CACHE_NAME)
+                .description("Total compressed size of cached responses")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private synchronized void store(String key, CachedResponse entry, long loadVersion) {
+        if (version != loadVersion) {
+            return;
+        }
+        final CachedResponse previous = entries.put(key, entry);
+        totalBytes += entry.weight() - ((previous != null) ? previous.weight() : 0);
+        final Iterator<CachedResponse> eldest = entries.values().iterator();
+        while (entries.size() > maxSize || totalBytes > maxBytes) {
+            totalBytes -= eldest.next().weight();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized void remove(String key) {
+        final CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.weight();
+        }
+    }
+
+    private static final class CachedResponse {
+        private final HttpHeaders headers;
+        private final byte[] compressedBody;
+        private final long freshUntil;
+
+        private CachedResponse(HttpHeaders headers, byte[] compressedBody, long freshUntil) {
+            this.headers = headers;
+            this.compressedBody = compressedBody;
+            this.freshUntil = freshUntil;
+        }
+
+        /**
+         * @return entry of the response or null if the response must not be cached
+         */
+        @Nullable
+        static CachedResponse of(ResponseEntity<Object> response, long currentTime) {
+            final HttpHeaders headers = response.getHeaders();
+            final String cacheControl = headers.getCacheControl();
+            if (cacheControl != null && cacheControl.contains("no-store")) {
+                return null;
+            }
+            if (headers.getETag() == null && headers.getLastModified() < 0) {
+                return null;
+            }
+            final byte[] body = (response.getBody() instanceof byte[]) ? (byte[]) response.getBody() : new byte[0];
+            if (body.length > MAX_BODY_SIZE) {
+                return null;
+            }
+            return new CachedResponse(HttpHeaders.readOnlyHttpHeaders(headers), gzip(body),
+                    currentTime + maxAgeMillis(cacheControl));
+        }
+
+        /**
+         * @return size counted against the byte limit of the cache
+         */
+        long weight() {
+            return compressedBody.length;
+        }
+
+        boolean isFreshAt(long currentTime) {
+            return currentTime < freshUntil;
+        }
+
+        /**
+         * Same body with validators and freshness from the 304 response
+         */
+        CachedResponse renew(HttpHeaders notModifiedHeaders, long currentTime) {
+            final HttpHeaders renewed = new HttpHeaders();
+            renewed.putAll(headers);
+            notModifiedHeaders.forEach(renewed::put);
+            final String cacheControl = renewed.getCacheControl();
+            return new CachedResponse(HttpHeaders.readOnlyHttpHeaders(renewed), compressedBody,
+                    currentTime + maxAgeMillis(cacheControl));
+        }
+
+        ResponseEntity<Object> toResponse(HttpStatus status) {
+            final byte[] body = gunzip(compressedBody);
+            final ResponseEntity.BodyBuilder builder = ResponseEntity.status(status).headers(headers);
+            return (body.length > 0) ? builder.body(body) : builder.build();
+        }
+
+        private static long maxAgeMillis(@Nullable String cacheControl) {
+            if (cacheControl == null || cacheControl.contains("no-cache")) {
+                return 0;
+            }
+            for (String directive : cacheControl.split(",")) {
+                final String trimmed = directive.trim();
+                if (trimmed.startsWith("max-age=")) {
+                    try {
+                        return Long.parseLong(trimmed.substring("max-age=".length())) * 1000;
+                    } catch (NumberFormatException e) {
+                        log.debug("Invalid Cache-Control from the server: {}", cacheControl);
+                        return 0;
+                    }
+                }
+            }
+            return 0;
+        }
+
+        private static byte[] gzip(byte[] body) {
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 32);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return compressed.toByteArray();
+        }
+
+        private static byte[] gunzip(byte[] compressedBody) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressedBody))) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Non-blocking connections to shareit-server shared by all clients.
+ * At most max-connections requests are in flight, the next pending-acquire-max-count wait for a connection
+ * and the rest are rejected at once, so a slow server does not pile up waiting requests in the gateway.
+ * Pool and request metrics are published as reactor.netty.* meters of /actuator/metrics
+ */
+@Configuration
+public class ServerClientConfig {
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+");
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serverConnectionProvider(
+            @Value("${shareit-server.max-connections}") int maxConnections,
+            @Value("${shareit-server.pending-acquire-max-count}") int pendingAcquireMaxCount,
+            @Value("${shareit-server.pending-acquire-timeout}") Duration pendingAcquireTimeout,
+            @Value("${shareit-server.max-idle-time}") Duration maxIdleTime,
+            @Value("${shareit-server.max-life-time}") Duration maxLifeTime,
+            @Value("${shareit-server.evict-interval}") Duration evictInterval
+    ) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInterval)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClientCustomizer serverConnectorCustomizer(
+            ConnectionProvider serverConnectionProvider,
+            @Value("${shareit-server.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.response-timeout}") Duration responseTimeout
+    ) {
+        final HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                .metrics(true, ServerClientConfig::uriTag);
+        return builder -> builder.clientConnector(new ReactorClientHttpConnector(httpClient));
+    }
+
+    /**
+     * Replace ids in the path, so that /items/1 and /items/2 are recorded under one uri tag
+     */
+    static String uriTag(String uri) {
+        final int queryStart = uri.indexOf('?');
+        final String path = queryStart < 0 ? uri : uri.substring(0, queryStart);
+        return ID_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+}
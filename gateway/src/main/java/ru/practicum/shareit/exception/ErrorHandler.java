@@ -2,11 +2,14 @@ package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -18,16 +21,19 @@ public class ErrorHandler {
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public Map<String, String> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        final String format = "'%s' -> %s";
-        final Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach(error -> {
-            String fieldName = ((FieldError) error).getField();
-            String errorMessage = String.format(format, ((FieldError) error).getRejectedValue(), error.getDefaultMessage());
-            errors.put(fieldName, errorMessage);
-        });
-        final String className = ex.getParameter().getParameterType().getSimpleName();
-        log.error("{}: {}", className, errors);
-        return errors;
+        return fieldErrors(ex.getParameter().getParameterType().getSimpleName(), ex.getBindingResult());
+    }
+
+    /**
+     * Same as {@link #handleValidationExceptions} for the reactive stack
+     */
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(WebExchangeBindException.class)
+    public Map<String, String> handleReactiveValidationExceptions(WebExchangeBindException ex) {
+        final String className = (ex.getMethodParameter() != null)
+                ? ex.getMethodParameter().getParameterType().getSimpleName()
+                : ex.getObjectName();
+        return fieldErrors(className, ex.getBindingResult());
     }
 
     @ExceptionHandler
@@ -42,6 +48,14 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServerUnavailable(final WebClientRequestException e) {
+        final String messageErr = String.format("ShareIt server is unavailable: %s", e.getMessage());
+        log.warn(messageErr);
+        return new ErrorResponse(messageErr);
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleInternalServerError(final Throwable e) {
@@ -49,4 +63,16 @@ public class ErrorHandler {
         log.error(messageErr);
         return new ErrorResponse(messageErr);
     }
+
+    private static Map<String, String> fieldErrors(String className, BindingResult bindingResult) {
+        final String format = "'%s' -> %s";
+        final Map<String, String> errors = new HashMap<>();
+        bindingResult.getAllErrors().forEach(error -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = String.format(format, ((FieldError) error).getRejectedValue(), error.getDefaultMessage());
+            errors.put(fieldName, errorMessage);
+        });
+        log.error("{}: {}", className, errors);
+        return errors;
+    }
 }
@@ -2,12 +2,17 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -17,18 +22,17 @@ import java.util.Map;
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    // bookings show the item, requests show the items made for them
+    private static final String[] DEPENDENT_PREFIXES = {"/bookings", "/requests"};
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      RequestCoalescer coalescer, ResponseCache responseCache) {
+        super(API_PREFIX, builder.baseUrl(serverUrl + API_PREFIX).build(), coalescer, responseCache,
+                DEPENDENT_PREFIXES);
     }
 
-    public ResponseEntity<Object> getAll(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAll(long userId, Integer from, Integer size) {
         final Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -36,33 +40,33 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAll(long userId) {
+    public Mono<ResponseEntity<Object>> getAll(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getItemById(long userId, long itemId) {
+    public Mono<ResponseEntity<Object>> getItemById(long userId, long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> createItem(long userId, @Valid ItemDto requestDto) {
+    public Mono<ResponseEntity<Object>> createItem(long userId, @Valid ItemDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, ItemDto requestDto, long itemId) {
+    public Mono<ResponseEntity<Object>> updateItem(long userId, ItemDto requestDto, long itemId) {
         return patch("/" + itemId, userId, requestDto);
     }
 
-    public ResponseEntity<Object> delete(long userId, long itemId) {
+    public Mono<ResponseEntity<Object>> delete(long userId, long itemId) {
         return delete("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> search(long userId, String text) {
+    public Mono<ResponseEntity<Object>> search(long userId, String text) {
         final Map<String, Object> parameters = Map.of(
                 "text", text);
         return get("/search?text={text}", userId, parameters);
     }
 
-    public ResponseEntity<Object> search(long userId, String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> search(long userId, String text, Integer from, Integer size) {
         final Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -71,7 +75,40 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createCommentToItem(long userId, long itemId, CommentDto requestDto) {
+    public Mono<ResponseEntity<Object>> suggest(String prefix, Integer size) {
+        final Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "size", size
+        );
+        return get("/suggest?prefix={prefix}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getComments(long itemId, String cursor, Integer size) {
+        if (cursor == null) {
+            return get("/" + itemId + "/comments?size={size}", null, Map.of("size", size));
+        }
+        final Map<String, Object> parameters = Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/" + itemId + "/comments?cursor={cursor}&size={size}", null, parameters);
+    }
+
+    /**
+     * Stream the import body to the server without buffering it in memory
+     */
+    public Mono<ResponseEntity<Object>> importItems(long userId, MediaType contentType, Flux<DataBuffer> body) {
+        return webClient.post()
+                .uri("/import")
+                .contentType(contentType)
+                .accept(MediaType.APPLICATION_JSON)
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .body(BodyInserters.fromDataBuffers(body))
+                .exchangeToMono(BaseClient::toGatewayResponse)
+                .doFinally(signal -> evictCachedResponses());
+    }
+
+    public Mono<ResponseEntity<Object>> createCommentToItem(long userId, long itemId, CommentDto requestDto) {
         return post("/" + itemId + "/comment", userId, requestDto);
     }
 }
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -34,9 +35,9 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAll(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @RequestParam(name = "from", required = false) @Min(0) Integer from,
-                                         @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(50) Integer size) {
+    public Mono<ResponseEntity<Object>> getAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @RequestParam(name = "from", required = false) @Min(0) Integer from,
+                                               @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(50) Integer size) {
         log.debug(X_SHARER_USER_ID, userId);
         if (from == null) {
             log.debug("Request received GET '/items'");
@@ -47,8 +48,8 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                          @PathVariable(name = "itemId") long itemId) {
+    public Mono<ResponseEntity<Object>> getById(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                @PathVariable(name = "itemId") long itemId) {
         log.debug(X_SHARER_USER_ID, userId);
         log.debug("Request received GET '/items/{}'", itemId);
         return itemClient.getItemById(userId, itemId);
@@ -56,24 +57,24 @@ public class ItemController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> create(@RequestHeader(value = "X-Sharer-User-Id", required = false) long userId,
-                                         @Valid @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(value = "X-Sharer-User-Id", required = false) long userId,
+                                               @Valid @RequestBody ItemDto itemDto) {
         log.debug(X_SHARER_USER_ID, userId);
         log.debug("Request received POST '/items' : {}", itemDto);
         return itemClient.createItem(userId, itemDto);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestHeader(value = "X-Sharer-User-Id", required = false) long userId,
-                                         @PathVariable(name = "itemId") long itemId,
-                                         @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(@RequestHeader(value = "X-Sharer-User-Id", required = false) long userId,
+                                               @PathVariable(name = "itemId") long itemId,
+                                               @RequestBody ItemDto itemDto) {
         log.debug(X_SHARER_USER_ID, userId);
         log.debug("Request received PATCH '/items/{}' : {}", itemId, itemDto);
         return itemClient.updateItem(userId, itemDto, itemId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(
+    public Mono<ResponseEntity<Object>> search(
             @RequestHeader(value = "X-Sharer-User-Id", required = false) long userId,
             @RequestParam(name = "text") String text,
             @RequestParam(name = "from", required = false) @Min(0) Integer from,
@@ -88,10 +89,25 @@ public class ItemController {
         return itemClient.search(userId, text, from, size);
     }
 
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<Object>> suggest(@RequestParam(name = "prefix") String prefix,
+                                                @RequestParam(name = "size", defaultValue = "10") @Min(1) @Max(10) Integer size) {
+        log.debug("Request received GET '/items/suggest?prefix={}&size={}'", prefix, size);
+        return itemClient.suggest(prefix, size);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public Mono<ResponseEntity<Object>> getComments(@PathVariable(name = "itemId") long itemId,
+                                                    @RequestParam(name = "cursor", required = false) String cursor,
+                                                    @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(50) Integer size) {
+        log.debug("Request received GET '/items/{}/comments?cursor={}&size={}'", itemId, cursor, size);
+        return itemClient.getComments(itemId, cursor, size);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createCommentToItem(@RequestHeader(value = "X-Sharer-User-Id", required = false) long userId,
-                                                      @PathVariable(name = "itemId") long itemId,
-                                                      @Valid @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> createCommentToItem(@RequestHeader(value = "X-Sharer-User-Id", required = false) long userId,
+                                                            @PathVariable(name = "itemId") long itemId,
+                                                            @Valid @RequestBody CommentDto commentDto) {
         log.debug(X_SHARER_USER_ID, userId);
         log.debug("Request received POST '/items/{}/comment' : {}", itemId, commentDto);
         return itemClient.createCommentToItem(userId, itemId, commentDto);
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.InputStream;
+
+import static ru.practicum.shareit.util.Constants.IMPORT_BUFFER_SIZE;
+import static ru.practicum.shareit.util.Constants.TEXT_CSV_VALUE;
+import static ru.practicum.shareit.util.Constants.X_SHARER_USER_ID;
+
+/**
+ * Item import on the servlet stack, the request stream is read on a worker thread as it is sent to the server
+ */
+@Slf4j
+@RestController
+@RequestMapping("/items")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ItemImportController {
+
+    private final ItemClient itemClient;
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public Mono<ResponseEntity<Object>> importItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                    @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                    InputStream body) {
+        log.debug(X_SHARER_USER_ID, userId);
+        log.debug("Request received POST '/items/import' : {}", contentType);
+        return itemClient.importItems(userId, contentType,
+                DataBufferUtils.readInputStream(() -> body, DefaultDataBufferFactory.sharedInstance, IMPORT_BUFFER_SIZE)
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+}
@@ -2,12 +2,13 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
@@ -17,16 +18,12 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                             RequestCoalescer coalescer, ResponseCache responseCache) {
+        super(API_PREFIX, builder.baseUrl(serverUrl + API_PREFIX).build(), coalescer, responseCache);
     }
 
-    public ResponseEntity<Object> getAll(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAll(long userId, Integer from, Integer size) {
         final Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -34,19 +31,27 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createRequest(long userId, ItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createRequest(long userId, ItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getAllByRequestOwner(long userId) {
+    public Mono<ResponseEntity<Object>> getAllByRequestOwner(long userId) {
         return get("/", userId);
     }
 
-    public ResponseEntity<Object> getById(long userId, long requestId) {
+    public Mono<ResponseEntity<Object>> getById(long userId, long requestId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getAll(long userId) {
+    public Mono<ResponseEntity<Object>> getAll(long userId) {
         return get("/all", userId);
     }
+
+    public Mono<ResponseEntity<Object>> getMatches(long userId, Integer from, Integer size) {
+        final Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("/matches?from={from}&size={size}", userId, parameters);
+    }
 }
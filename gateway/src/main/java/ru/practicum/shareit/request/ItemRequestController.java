@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
@@ -32,14 +33,14 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAll(@RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> getAll(@RequestHeader("X-Sharer-User-Id") long userId) {
         log.debug(X_SHARER_USER_ID, userId);
         log.debug("Request received GET '/requests'");
         return itemRequestClient.getAllByRequestOwner(userId);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getById(
+    public Mono<ResponseEntity<Object>> getById(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PathVariable("requestId") long requestId
     ) {
@@ -50,7 +51,7 @@ public class ItemRequestController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> create(
+    public Mono<ResponseEntity<Object>> create(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @Valid @RequestBody ItemRequestDto itemRequestDto
     ) {
@@ -60,7 +61,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllFromOtherUser(
+    public Mono<ResponseEntity<Object>> getAllFromOtherUser(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(name = "from", required = false) @Min(0) Integer from,
             @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(50) Integer size
@@ -73,4 +74,15 @@ public class ItemRequestController {
         log.debug("Request received GET '/requests/all?from={}&size={}", from, size);
         return itemRequestClient.getAll(userId, from, size);
     }
+
+    @GetMapping("/matches")
+    public Mono<ResponseEntity<Object>> getMatches(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(50) Integer size
+    ) {
+        log.debug(X_SHARER_USER_ID, userId);
+        log.debug("Request received GET '/requests/matches?from={}&size={}", from, size);
+        return itemRequestClient.getMatches(userId, from, size);
+    }
 }
@@ -2,12 +2,13 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.Map;
@@ -15,18 +16,17 @@ import java.util.Map;
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
+    // deleting a user deletes their items, bookings, requests and comments
+    private static final String[] DEPENDENT_PREFIXES = {"/items", "/bookings", "/requests"};
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      RequestCoalescer coalescer, ResponseCache responseCache) {
+        super(API_PREFIX, builder.baseUrl(serverUrl + API_PREFIX).build(), coalescer, responseCache,
+                DEPENDENT_PREFIXES);
     }
 
-    public ResponseEntity<Object> getAllUsers(Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllUsers(Integer from, Integer size) {
         final Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -34,23 +34,23 @@ public class UserClient extends BaseClient {
         return get("?from={from}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> createUser(UserDto requestDto) {
+    public Mono<ResponseEntity<Object>> createUser(UserDto requestDto) {
         return post("", requestDto);
     }
 
-    public ResponseEntity<Object> updateUser(long userId, UserDto requestDto) {
+    public Mono<ResponseEntity<Object>> updateUser(long userId, UserDto requestDto) {
         return patch("/" + userId, userId, requestDto);
     }
 
-    public ResponseEntity<Object> delete(long userId) {
+    public Mono<ResponseEntity<Object>> delete(long userId) {
         return delete("/" + userId);
     }
 
-    public ResponseEntity<Object> getUserById(long userId) {
+    public Mono<ResponseEntity<Object>> getUserById(long userId) {
         return get("/" + userId);
     }
 }
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
@@ -28,28 +29,28 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAll(@RequestParam(name = "from", required = false) @Min(0) Integer from,
-                                         @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(50) Integer size) {
+    public Mono<ResponseEntity<Object>> getAll(@RequestParam(name = "from", required = false) @Min(0) Integer from,
+                                               @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(50) Integer size) {
         log.debug("Request received GET '/users'");
         return (from == null) ? userClient.getAllUsers() : userClient.getAllUsers(from, size);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getById(@PathVariable(name = "userId") long userId) {
+    public Mono<ResponseEntity<Object>> getById(@PathVariable(name = "userId") long userId) {
         log.debug("Request received GET '/users/{}'", userId);
         return userClient.getUserById(userId);
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> create(
+    public Mono<ResponseEntity<Object>> create(
             @Valid @RequestBody UserDto userDto) {
         log.debug("Request received POST '/users' : {}", userDto);
         return userClient.createUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(
+    public Mono<ResponseEntity<Object>> update(
             @PathVariable(name = "userId") long userId,
             @RequestBody UserDto userDto) {
         log.debug("Request received PATCH '/users/{}' : {}", userId, userDto);
@@ -6,4 +6,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class Constants {
     public static final String X_SHARER_USER_ID = "X-Sharer-User-Id={}";
+    public static final int MAX_BATCH_SIZE = 100;
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final int IMPORT_BUFFER_SIZE = 8192;
 }
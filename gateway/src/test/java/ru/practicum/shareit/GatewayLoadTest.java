@@ -0,0 +1,120 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends many concurrent GET /items/{id} through the gateway to a server stub that answers after a delay
+ * and reports the peak number of threads, the p99 latency and the requests rejected with 503.
+ * The gateway runs with the configured pool limits, so requests beyond max-connections wait for a connection
+ * and requests beyond pending-acquire-max-count are rejected. The limits may be overridden to try other sizes.
+ * Run for both server stacks:
+ * {@code mvn test -pl gateway -Dtest=*GatewayLoadTest -Dbenchmark=true -Dbenchmark.requests=2000
+ * -Dbenchmark.max-connections=50 -Dbenchmark.pending-acquire-max-count=500}
+ */
+@Slf4j
+abstract class GatewayLoadTest {
+    private static final Duration SERVER_DELAY = Duration.ofMillis(500);
+
+    private static DisposableServer slowServer;
+
+    @LocalServerPort
+    private int port;
+    @Value("${shareit-server.max-connections}")
+    private int maxConnections;
+    @Value("${shareit-server.pending-acquire-max-count}")
+    private int pendingAcquireMaxCount;
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) {
+        slowServer = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/items/{itemId}", (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(Mono.delay(SERVER_DELAY).thenReturn("{\"id\":" + request.param("itemId") + "}"))))
+                .bindNow();
+        registry.add("shareit-server.url", () -> "http://localhost:" + slowServer.port());
+        overrideIfSet(registry, "benchmark.max-connections", "shareit-server.max-connections");
+        overrideIfSet(registry, "benchmark.pending-acquire-max-count", "shareit-server.pending-acquire-max-count");
+    }
+
+    private static void overrideIfSet(DynamicPropertyRegistry registry, String systemProperty, String property) {
+        final String value = System.getProperty(systemProperty);
+        if (value != null) {
+            registry.add(property, () -> value);
+        }
+    }
+
+    @AfterAll
+    static void stopServer() {
+        slowServer.disposeNow();
+    }
+
+    @Test
+    void slowServer_thenThreadsAndLatency() {
+        final int requests = Integer.getInteger("benchmark.requests", 2000);
+        final WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(
+                        HttpClient.create(ConnectionProvider.create("load-test", requests))))
+                .build();
+        final AtomicInteger rejected = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final int threadsBefore = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        final List<Long> latencies = Flux.range(0, requests)
+                .flatMap(itemId -> timedGet(client, itemId, rejected, failed), requests)
+                .sort()
+                .collectList()
+                .block();
+
+        final long p99 = latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1);
+        log.info("{}: {} requests, server delay {} ms, {} connections, {} pending: threads {} -> peak {}, "
+                        + "p50 {} ms, p99 {} ms, rejected with 503 {}, failed {}",
+                getClass().getSimpleName(), requests, SERVER_DELAY.toMillis(), maxConnections, pendingAcquireMaxCount,
+                threadsBefore, threads.getPeakThreadCount(), latencies.get(latencies.size() / 2), p99,
+                rejected.get(), failed.get());
+    }
+
+    private static Mono<Long> timedGet(WebClient client, int itemId, AtomicInteger rejected, AtomicInteger failed) {
+        return Mono.defer(() -> {
+            final long startTime = System.nanoTime();
+            return client.get()
+                    .uri("/items/{itemId}", itemId)
+                    .header("X-Sharer-User-Id", "1")
+                    .exchangeToMono(response -> {
+                        if (response.statusCode() == HttpStatus.SERVICE_UNAVAILABLE) {
+                            rejected.incrementAndGet();
+                        } else if (!response.statusCode().is2xxSuccessful()) {
+                            failed.incrementAndGet();
+                        }
+                        return response.releaseBody();
+                    })
+                    .then(Mono.fromSupplier(() -> (System.nanoTime() - startTime) / 1_000_000));
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Gateway on Netty, see {@link GatewayLoadTest}
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReactiveGatewayLoadTest extends GatewayLoadTest {
+}
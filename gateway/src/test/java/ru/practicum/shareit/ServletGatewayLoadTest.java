@@ -0,0 +1,13 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Gateway on Tomcat, see {@link GatewayLoadTest}
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=servlet")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ServletGatewayLoadTest extends GatewayLoadTest {
+}
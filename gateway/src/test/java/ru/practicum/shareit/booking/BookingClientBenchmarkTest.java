@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Compares passing a large booking list through {@link BookingClient} as bytes with parsing it into
+ * an object tree and rendering it again, as the gateway did before.
+ * {@code mvn test -pl gateway -Dtest=BookingClientBenchmarkTest -Dbenchmark=true -Dbenchmark.bookings=10000}
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BookingClientBenchmarkTest {
+    private static final String SERVER_URL = "http://localhost:9090";
+    private static final int WARMUP = 5;
+    private static final int ROUNDS = 20;
+    private static final int MAX_IN_MEMORY_SIZE = 64 * 1024 * 1024;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void comparePassthroughAndReparsing() throws IOException {
+        final int bookingCount = Integer.getInteger("benchmark.bookings", 10_000);
+        final byte[] bookings = makeBookings(bookingCount);
+        final ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE))
+                .build();
+        final WebClient.Builder builder = WebClient.builder()
+                .exchangeStrategies(strategies)
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK, strategies)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(bookings)))
+                        .build()));
+        final BookingClient client = new BookingClient(SERVER_URL, builder,
+                new RequestCoalescer(new String[0], new SimpleMeterRegistry()), new ResponseCache(0, 0));
+
+        assertArrayEquals(bookings, (byte[]) client.getBookings(1L, BookingState.ALL).block().getBody());
+        final long passthrough = measure(() -> client.getBookings(1L, BookingState.ALL).block());
+        final long reparsed = measure(() -> {
+            final ResponseEntity<Object> response = client.getBookings(1L, BookingState.ALL).block();
+            final Object tree = mapper.readValue((byte[]) response.getBody(), Object.class);
+            mapper.writeValueAsBytes(tree);
+        });
+
+        log.info("{} bookings ({} KB): passthrough {} us, parsed and rendered {} us per response", bookingCount,
+                bookings.length / 1024, passthrough, reparsed);
+    }
+
+    private long measure(Call call) throws IOException {
+        for (int i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            call.run();
+        }
+        return (System.nanoTime() - startTime) / ROUNDS / 1_000;
+    }
+
+    private static byte[] makeBookings(int bookingCount) {
+        final LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < bookingCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i + 1)
+                    .append(",\"start\":\"").append(start.plusHours(i))
+                    .append("\",\"end\":\"").append(start.plusHours(i + 1))
+                    .append("\",\"status\":\"APPROVED\"")
+                    .append(",\"booker\":{\"id\":2,\"name\":\"Jane\",\"email\":\"jane@mail.ru\"}")
+                    .append(",\"item\":{\"id\":").append(i % 100 + 1)
+                    .append(",\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":true}}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private interface Call {
+        void run() throws IOException;
+    }
+}
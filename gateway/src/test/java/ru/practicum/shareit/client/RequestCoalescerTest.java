@@ -0,0 +1,96 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTest {
+    private static final String ITEMS = "/items/1";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(new String[]{"/items", "/requests"}, meterRegistry);
+    private final List<Sinks.One<ResponseEntity<Object>>> calls = new ArrayList<>();
+    private final Supplier<Mono<ResponseEntity<Object>>> server = () -> {
+        final Sinks.One<ResponseEntity<Object>> call = Sinks.one();
+        calls.add(call);
+        return call.asMono();
+    };
+
+    @Test
+    void coalesce_whenSameRequestInFlight_thenOneCall() {
+        final AtomicReference<ResponseEntity<Object>> first = new AtomicReference<>();
+        final AtomicReference<ResponseEntity<Object>> second = new AtomicReference<>();
+
+        coalescer.coalesce(ITEMS, 1L, server).subscribe(first::set);
+        coalescer.coalesce(ITEMS, 1L, server).subscribe(second::set);
+        final ResponseEntity<Object> response = ResponseEntity.ok().body(new byte[]{1});
+        calls.get(0).tryEmitValue(response);
+
+        assertEquals(1, calls.size());
+        assertSame(response, first.get());
+        assertSame(response, second.get());
+        assertEquals(1, coalescedCount());
+    }
+
+    @Test
+    void coalesce_whenCompleted_thenNextRequestCalls() {
+        coalescer.coalesce(ITEMS, 1L, server).subscribe();
+        calls.get(0).tryEmitValue(ResponseEntity.ok().build());
+
+        coalescer.coalesce(ITEMS, 1L, server).subscribe();
+
+        assertEquals(2, calls.size());
+        assertEquals(0, coalescedCount());
+    }
+
+    @Test
+    void coalesce_whenOtherUserOrPath_thenNotJoined() {
+        coalescer.coalesce(ITEMS, 1L, server).subscribe();
+        coalescer.coalesce(ITEMS, 2L, server).subscribe();
+        coalescer.coalesce("/items/2", 1L, server).subscribe();
+        coalescer.coalesce("/users/1", null, server).subscribe();
+        coalescer.coalesce("/users/1", null, server).subscribe();
+
+        assertEquals(5, calls.size());
+        assertEquals(0, coalescedCount());
+    }
+
+    @Test
+    void coalesce_whenError_thenNextRequestCalls() {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        coalescer.coalesce(ITEMS, 1L, server).subscribe(response -> { }, error::set);
+        calls.get(0).tryEmitError(new IllegalStateException("server is down"));
+
+        coalescer.coalesce(ITEMS, 1L, server).subscribe();
+
+        assertTrue(error.get() instanceof IllegalStateException);
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    void coalesce_whenCancelled_thenNextRequestCalls() {
+        final Disposable first = coalescer.coalesce(ITEMS, 1L, server).subscribe();
+        first.dispose();
+
+        coalescer.coalesce(ITEMS, 1L, server).subscribe();
+
+        assertEquals(2, calls.size());
+        assertEquals(0, coalescedCount());
+    }
+
+    private double coalescedCount() {
+        return meterRegistry.get("shareit.gateway.requests.coalesced").counter().count();
+    }
+}
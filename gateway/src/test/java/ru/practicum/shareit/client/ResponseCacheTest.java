@@ -0,0 +1,168 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+    private static final String ITEMS = "/items/1";
+    private static final byte[] BODY = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ResponseCache responseCache = new ResponseCache(2, 1024);
+    private final List<HttpHeaders> calls = new ArrayList<>();
+
+    @Test
+    void get_whenFresh_thenFromCache() {
+        final Function<HttpHeaders, Mono<ResponseEntity<Object>>> call = server(ok("\"v1\"", "max-age=60", BODY));
+
+        responseCache.get(ITEMS, 1L, call).block();
+        final ResponseEntity<Object> response = responseCache.get(ITEMS, 1L, call).block();
+
+        assertEquals(1, calls.size());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(BODY, (byte[]) response.getBody());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void get_whenOtherUser_thenFromServer() {
+        final Function<HttpHeaders, Mono<ResponseEntity<Object>>> call = server(ok("\"v1\"", "max-age=60", BODY));
+
+        responseCache.get(ITEMS, 1L, call).block();
+        responseCache.get(ITEMS, 2L, call).block();
+
+        assertEquals(2, calls.size());
+        assertTrue(calls.get(1).getIfNoneMatch().isEmpty());
+    }
+
+    @Test
+    void get_whenStaleAndNotModified_thenRevalidated() {
+        responseCache.get(ITEMS, 1L, server(ok("\"v1\"", null, BODY))).block();
+
+        final ResponseEntity<Object> response = responseCache.get(ITEMS, 1L,
+                server(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"v1\"").build())).block();
+
+        assertEquals(List.of("\"v1\""), calls.get(1).getIfNoneMatch());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(BODY, (byte[]) response.getBody());
+    }
+
+    @Test
+    void get_whenStaleAndChanged_thenNewResponseStored() {
+        final byte[] changed = "{\"id\":1,\"name\":\"Перфоратор\"}".getBytes(StandardCharsets.UTF_8);
+        responseCache.get(ITEMS, 1L, server(ok("\"v1\"", null, BODY))).block();
+        responseCache.get(ITEMS, 1L, server(ok("\"v2\"", null, changed))).block();
+
+        final ResponseEntity<Object> response = responseCache.get(ITEMS, 1L,
+                server(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"v2\"").build())).block();
+
+        assertEquals(List.of("\"v2\""), calls.get(2).getIfNoneMatch());
+        assertArrayEquals(changed, (byte[]) response.getBody());
+    }
+
+    @Test
+    void get_whenNoStore_thenNotCached() {
+        final Function<HttpHeaders, Mono<ResponseEntity<Object>>> call = server(ok("\"v1\"", "no-store", BODY));
+
+        responseCache.get(ITEMS, 1L, call).block();
+        responseCache.get(ITEMS, 1L, call).block();
+
+        assertEquals(2, calls.size());
+        assertTrue(calls.get(1).getIfNoneMatch().isEmpty());
+        assertEquals(0, responseCache.size());
+    }
+
+    @Test
+    void get_whenNoValidator_thenNotCached() {
+        responseCache.get(ITEMS, 1L, server(ResponseEntity.ok().body(BODY))).block();
+
+        assertEquals(0, responseCache.size());
+    }
+
+    @Test
+    void get_whenInvalidatedDuringLoad_thenNotStored() {
+        final Mono<ResponseEntity<Object>> load = responseCache.get(ITEMS, 1L, conditions -> {
+            calls.add(conditions);
+            responseCache.invalidate("/items");
+            return Mono.just(ok("\"v1\"", "max-age=60", BODY));
+        });
+
+        assertArrayEquals(BODY, (byte[]) load.block().getBody());
+        assertEquals(0, responseCache.size());
+    }
+
+    @Test
+    void invalidate_thenOnlyPrefixesEvicted() {
+        final Function<HttpHeaders, Mono<ResponseEntity<Object>>> call = server(ok("\"v1\"", "max-age=60", BODY));
+        responseCache.get(ITEMS, 1L, call).block();
+        responseCache.get("/bookings/1", 1L, call).block();
+
+        responseCache.invalidate("/users", "/bookings");
+        responseCache.get(ITEMS, 1L, call).block();
+        responseCache.get("/bookings/1", 1L, call).block();
+
+        assertEquals(3, calls.size());
+        assertEquals(2, responseCache.size());
+    }
+
+    @Test
+    void get_whenMaxSizeExceeded_thenLeastRecentlyUsedEvicted() {
+        final Function<HttpHeaders, Mono<ResponseEntity<Object>>> call = server(ok("\"v1\"", "max-age=60", BODY));
+        responseCache.get("/items/1", 1L, call).block();
+        responseCache.get("/items/2", 1L, call).block();
+        responseCache.get("/items/1", 1L, call).block();
+
+        responseCache.get("/items/3", 1L, call).block();
+        responseCache.get("/items/1", 1L, call).block();
+        responseCache.get("/items/2", 1L, call).block();
+
+        assertEquals(4, calls.size());
+        assertEquals(2, responseCache.size());
+    }
+
+    @Test
+    void get_whenMaxBytesExceeded_thenLeastRecentlyUsedEvicted() {
+        final byte[] large = new byte[700];
+        new Random(1).nextBytes(large);
+        final Function<HttpHeaders, Mono<ResponseEntity<Object>>> call = server(ok("\"v1\"", "max-age=60", large));
+        responseCache.get("/items/1", 1L, call).block();
+        final long bytes = responseCache.bytes();
+
+        responseCache.get("/items/2", 1L, call).block();
+
+        assertEquals(1, responseCache.size());
+        assertEquals(bytes, responseCache.bytes());
+        responseCache.get("/items/2", 1L, call).block();
+        assertEquals(2, calls.size());
+
+        responseCache.invalidate("/items");
+        assertEquals(0, responseCache.bytes());
+    }
+
+    private Function<HttpHeaders, Mono<ResponseEntity<Object>>> server(ResponseEntity<Object> response) {
+        return conditions -> {
+            calls.add(conditions);
+            return Mono.just(response);
+        };
+    }
+
+    private static ResponseEntity<Object> ok(String eTag, String cacheControl, byte[] body) {
+        final ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(eTag);
+        if (cacheControl != null) {
+            builder.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return builder.body(body);
+    }
+}
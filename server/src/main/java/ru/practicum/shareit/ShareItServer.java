@@ -2,12 +2,24 @@ package ru.practicum.shareit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 
 @SpringBootApplication
+@EnableScheduling
 public class ShareItServer {
 
 	public static void main(String[] args) {
 		SpringApplication.run(ShareItServer.class, args);
 	}
 
+	/**
+	 * ETag on GET responses, so the gateway cache can revalidate them with If-None-Match
+	 */
+	@Bean
+	public ShallowEtagHeaderFilter etagFilter() {
+		return new ShallowEtagHeaderFilter();
+	}
+
 }
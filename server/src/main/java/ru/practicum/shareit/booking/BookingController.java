@@ -15,7 +15,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingBulkDto;
+import ru.practicum.shareit.booking.dto.BookingBulkResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoPage;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 
 import javax.validation.Valid;
@@ -41,6 +45,25 @@ public class BookingController {
         return service.bookItem(userId, booking);
     }
 
+    @PostMapping("/batch")
+    List<BookingBatchResult> bookItems(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @RequestBody List<BookingDto> bookings) {
+        log.debug(X_SHARER_USER_ID, userId);
+        log.debug("Request received POST '/bookings/batch' : {} bookings", bookings.size());
+        return service.bookItems(userId, bookings);
+    }
+
+    @PatchMapping("/bulk")
+    BookingBulkResult approveAll(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @RequestBody BookingBulkDto decision
+    ) {
+        log.debug(X_SHARER_USER_ID, userId);
+        log.debug("Request received PATCH '/bookings/bulk' : {}", decision);
+        return service.approveBookings(userId, decision.getBookingIds(), decision.isApproved());
+    }
+
     @PatchMapping("/{bookingId}")
     BookingDtoResponse approve(
             @RequestHeader(value = "X-Sharer-User-Id") long userId,
@@ -86,6 +109,30 @@ public class BookingController {
         return service.getAllByOwner(userId, state, page);
     }
 
+    @GetMapping(params = "cursor")
+    BookingDtoPage getPageByBooker(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state") String state,
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "size", defaultValue = "20") Integer size
+    ) {
+        log.debug(X_SHARER_USER_ID, userId);
+        log.debug("Request received GET '/bookings?state={}&cursor={}&size={}'", state, cursor, size);
+        return service.getAllByBooker(userId, state, cursor, size);
+    }
+
+    @GetMapping(value = "/owner", params = "cursor")
+    BookingDtoPage getPageByOwner(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state") String state,
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "size", defaultValue = "20") Integer size
+    ) {
+        log.debug(X_SHARER_USER_ID, userId);
+        log.debug("Request received GET '/bookings/owner?state={}&cursor={}&size={}'", state, cursor, size);
+        return service.getAllByOwner(userId, state, cursor, size);
+    }
+
     @GetMapping("/{bookingId}")
     BookingDtoResponse getBookingByIdForUser(@RequestHeader(value = "X-Sharer-User-Id") long userId,
                                              @PathVariable(name = "bookingId") long bookingId) {
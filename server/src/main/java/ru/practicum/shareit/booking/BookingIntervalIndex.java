@@ -0,0 +1,195 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of approved booking intervals per item.
+ * Intervals of an item are loaded lazily on first access and kept as a sorted set of disjoint
+ * (merged) intervals, so an overlap check is a single floor lookup.
+ * Ended intervals are pruned periodically and the whole index is dropped when a user is deleted,
+ * because the user's bookings are deleted with it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+    private final BookingRepository repository;
+
+    private final Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> intervalsByItem = new ConcurrentHashMap<>();
+
+    /**
+     * Check for an approved booking for an item with a time crossing
+     * @param itemId
+     * @param start booking start time
+     * @param end booking end time
+     * @return true or false
+     */
+    public boolean hasOverlap(long itemId, LocalDateTime start, LocalDateTime end) {
+        final NavigableMap<LocalDateTime, LocalDateTime> intervals = getIntervals(itemId);
+        synchronized (intervals) {
+            final Map.Entry<LocalDateTime, LocalDateTime> candidate = intervals.floorEntry(end);
+            return candidate != null && !candidate.getValue().isBefore(start);
+        }
+    }
+
+    /**
+     * Add approved booking interval for item.
+     * If called inside a transaction, the item's intervals are dropped on rollback and reloaded on next access.
+     * @param itemId
+     * @param start booking start time
+     * @param end booking end time
+     */
+    public void add(long itemId, LocalDateTime start, LocalDateTime end) {
+        boolean added = false;
+        while (!added) {
+            final NavigableMap<LocalDateTime, LocalDateTime> intervals = getIntervals(itemId);
+            synchronized (intervals) {
+                // intervals dropped by prune or clear meanwhile are reloaded
+                if (intervalsByItem.get(itemId) == intervals) {
+                    merge(intervals, start, end);
+                    added = true;
+                }
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        evict(itemId);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Load intervals of several items that are not in the index yet with a single query
+     * @param itemIds
+     */
+    public void preload(Collection<Long> itemIds) {
+        final List<Long> missingIds = itemIds.stream()
+                .filter(itemId -> !intervalsByItem.containsKey(itemId))
+                .distinct()
+                .collect(Collectors.toList());
+        if (missingIds.isEmpty()) {
+            return;
+        }
+        final Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> loaded = new HashMap<>();
+        missingIds.forEach(itemId -> loaded.put(itemId, new TreeMap<>()));
+        repository.findAllByItemIdInAndStatus(missingIds, BookingStatus.APPROVED)
+                .forEach(booking -> merge(loaded.get(booking.getItem().getId()), booking.getStart(), booking.getEnd()));
+        loaded.forEach(intervalsByItem::putIfAbsent);
+    }
+
+    /**
+     * Drop item's intervals, they will be reloaded from storage on next access
+     * @param itemId
+     */
+    public void evict(long itemId) {
+        intervalsByItem.remove(itemId);
+    }
+
+    /**
+     * Drop intervals that ended before the time, items without intervals left are dropped as well
+     * @param currentTime
+     * @return number of dropped intervals
+     */
+    public int prune(LocalDateTime currentTime) {
+        int pruned = 0;
+        for (Map.Entry<Long, NavigableMap<LocalDateTime, LocalDateTime>> entry : intervalsByItem.entrySet()) {
+            final NavigableMap<LocalDateTime, LocalDateTime> intervals = entry.getValue();
+            synchronized (intervals) {
+                final Iterator<LocalDateTime> ends = intervals.values().iterator();
+                while (ends.hasNext() && ends.next().isBefore(currentTime)) {
+                    ends.remove();
+                    pruned++;
+                }
+                if (intervals.isEmpty()) {
+                    intervalsByItem.remove(entry.getKey(), intervals);
+                }
+            }
+        }
+        return pruned;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.intervals.prune-delay}")
+    public void pruneEnded() {
+        final int pruned = prune(LocalDateTime.now());
+        if (pruned > 0) {
+            log.debug("Pruned {} ended booking intervals", pruned);
+        }
+    }
+
+    /**
+     * Drop the whole index after commit of user deletion, bookings of the user's items and the user's own
+     * bookings are deleted with the user
+     * @param event deleted user
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        intervalsByItem.clear();
+    }
+
+    /**
+     * @return number of items with loaded intervals
+     */
+    int itemCount() {
+        return intervalsByItem.size();
+    }
+
+    private NavigableMap<LocalDateTime, LocalDateTime> getIntervals(long itemId) {
+        return intervalsByItem.computeIfAbsent(itemId, this::load);
+    }
+
+    private NavigableMap<LocalDateTime, LocalDateTime> load(long itemId) {
+        final NavigableMap<LocalDateTime, LocalDateTime> intervals = new TreeMap<>();
+        repository.findAllByItemIdAndStatus(itemId, BookingStatus.APPROVED)
+                .forEach(booking -> merge(intervals, booking.getStart(), booking.getEnd()));
+        return intervals;
+    }
+
+    private static void merge(NavigableMap<LocalDateTime, LocalDateTime> intervals,
+                              LocalDateTime start, LocalDateTime end) {
+        LocalDateTime mergedStart = start;
+        LocalDateTime mergedEnd = end;
+
+        final Map.Entry<LocalDateTime, LocalDateTime> floor = intervals.floorEntry(start);
+        if (floor != null && !floor.getValue().isBefore(start)) {
+            mergedStart = floor.getKey();
+            mergedEnd = max(mergedEnd, floor.getValue());
+            intervals.remove(floor.getKey());
+        }
+
+        Map.Entry<LocalDateTime, LocalDateTime> next = intervals.ceilingEntry(mergedStart);
+        while (next != null && !next.getKey().isAfter(mergedEnd)) {
+            mergedEnd = max(mergedEnd, next.getValue());
+            intervals.remove(next.getKey());
+            next = intervals.ceilingEntry(mergedStart);
+        }
+        intervals.put(mergedStart, mergedEnd);
+    }
+
+    private static LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
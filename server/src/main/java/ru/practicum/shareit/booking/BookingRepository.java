@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.query.Param;
@@ -11,11 +12,13 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long>, QuerydslPredicateExecutor<Booking> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, QuerydslPredicateExecutor<Booking>,
+        BookingRepositoryCustom {
     /**
      * Find booking by Id for booker or item's owner
      * @param userId
@@ -56,6 +59,22 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, Queryds
                                                 @Param("status") BookingStatus status,
                                                 Sort order);
 
+    /**
+     * Find all bookings for item by status
+     * @param itemId
+     * @param status
+     * @return item booking list
+     */
+    List<Booking> findAllByItemIdAndStatus(long itemId, BookingStatus status);
+
+    /**
+     * Find all bookings for several items by status
+     * @param itemIds
+     * @param status
+     * @return booking list
+     */
+    List<Booking> findAllByItemIdInAndStatus(Collection<Long> itemIds, BookingStatus status);
+
     /**
      * Get item by itemId and bookerId if it was booked before current time
      * @param itemId
@@ -77,10 +96,55 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, Queryds
      * @return true or false
      */
     @Query("select case when count(b)> 0 then true else false end from Booking b " +
-            "where  b.item.id = :itemId and" +
-            "((:start between b.start and  b.end) or (:end between b.start and  b.end)) and " +
+            "where  b.item.id = :itemId and " +
+            "b.start <= :end and b.end >= :start and " +
             "b.status = 'APPROVED'")
     boolean existsApprovedBookingForItemWithCrossTime(@Param("itemId") long itemId,
                                                       @Param("start") LocalDateTime start,
                                                       @Param("end") LocalDateTime end);
+
+    /**
+     * Find last and next approved bookings for each of the items.
+     * Last booking has the latest start before the given time, next booking has the earliest start after it
+     * @param itemIds
+     * @param time current time
+     * @return at most two bookings per item
+     */
+    @Query("select b from Booking b " +
+            "where b.item.id in :itemIds and b.status = 'APPROVED' and (" +
+            "b.start = (select max(l.start) from Booking l " +
+            "where l.item = b.item and l.status = 'APPROVED' and l.start < :time) or " +
+            "b.start = (select min(n.start) from Booking n " +
+            "where n.item = b.item and n.status = 'APPROVED' and n.start > :time))")
+    List<Booking> findLastAndNextApprovedByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                                    @Param("time") LocalDateTime time);
+
+    /**
+     * Find bookings by ids together with their items
+     * @param ids
+     * @return booking list
+     */
+    @Query("select b from Booking b join fetch b.item where b.id in :ids")
+    List<Booking> findAllWithItemByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Set status for several bookings
+     * @param ids
+     * @param status
+     * @return number of updated bookings
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = :status where b.id in :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status);
+
+    /**
+     * Reject all WAITING bookings that overlap one of the approved bookings of the same item
+     * @param approvedIds approved bookings
+     * @return number of rejected bookings
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = 'REJECTED' " +
+            "where b.status = 'WAITING' and exists (select a.id from Booking a " +
+            "where a.id in :approvedIds and a.item = b.item and a.start <= b.end and a.end >= b.start)")
+    int rejectWaitingOverlapping(@Param("approvedIds") Collection<Long> approvedIds);
 }
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking;
+
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.util.PageCursor;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    /**
+     * Find bookings ordered by start and id descending, with item and booker fetched in the same query
+     * @param predicate booking filter
+     * @param page page, null for all rows
+     * @return booking list
+     */
+    List<Booking> findAllWithItemAndBooker(Predicate predicate, PageRequest page);
+
+    /**
+     * Find bookings ordered by start and id descending, starting after the cursor position,
+     * with item and booker fetched in the same query.
+     * Keyset pagination: no offset scan and no count query
+     * @param predicate booking filter
+     * @param cursor position of the last row of the previous page, null for the first page
+     * @param limit max number of rows
+     * @return booking list
+     */
+    List<Booking> findAllAfterCursor(Predicate predicate, PageCursor cursor, int limit);
+
+    /**
+     * Persist new bookings and flush them, Hibernate sends the inserts in JDBC batches
+     * @param bookings new bookings, item and booker must be set
+     */
+    void insertAll(List<Booking> bookings);
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.util.PageCursor;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static ru.practicum.shareit.booking.model.QBooking.booking;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    private final EntityManager entityManager;
+    private final JPAQueryFactory queryFactory;
+
+    public BookingRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    @Override
+    public List<Booking> findAllWithItemAndBooker(Predicate predicate, PageRequest page) {
+        final JPAQuery<Booking> query = selectWithItemAndBooker()
+                .where(predicate)
+                .orderBy(booking.start.desc(), booking.id.desc());
+        if (page != null) {
+            query.offset(page.getOffset()).limit(page.getPageSize());
+        }
+        return query.fetch();
+    }
+
+    @Override
+    public List<Booking> findAllAfterCursor(Predicate predicate, PageCursor cursor, int limit) {
+        return selectWithItemAndBooker()
+                .where(predicate, cursor == null ? null : afterCursor(cursor))
+                .orderBy(booking.start.desc(), booking.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public void insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        bookings.forEach(entityManager::persist);
+        entityManager.flush();
+    }
+
+    private JPAQuery<Booking> selectWithItemAndBooker() {
+        return queryFactory.selectFrom(booking)
+                .join(booking.item).fetchJoin()
+                .join(booking.booker).fetchJoin();
+    }
+
+    private static Predicate afterCursor(PageCursor cursor) {
+        return booking.start.lt(cursor.getTime())
+                .or(booking.start.eq(cursor.getTime()).and(booking.id.lt(cursor.getId())));
+    }
+}
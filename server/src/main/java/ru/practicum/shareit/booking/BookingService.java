@@ -1,7 +1,10 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingBulkResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoPage;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 
 import java.util.List;
@@ -15,6 +18,15 @@ public interface BookingService {
      */
     BookingDtoResponse bookItem(long userId, BookingDto booking);
 
+    /**
+     * Create several bookings for one user.
+     * Every entry is validated separately, a rejected entry does not fail the others
+     * @param userId
+     * @param bookings
+     * @return result for every entry in request order
+     */
+    List<BookingBatchResult> bookItems(long userId, List<BookingDto> bookings);
+
     /**
      * Update approve status for booking
      * @param userId
@@ -24,6 +36,17 @@ public interface BookingService {
      */
     BookingDtoResponse approveBooking(long userId, long bookingId, boolean isApproved);
 
+    /**
+     * Approve or reject several bookings of the owner in one transaction.
+     * If any booking cannot be changed, none is changed.
+     * On approve, WAITING bookings overlapping the approved ones are rejected
+     * @param userId item's owner
+     * @param bookingIds
+     * @param isApproved
+     * @return changed bookings and number of auto rejected bookings
+     */
+    BookingBulkResult approveBookings(long userId, List<Long> bookingIds, boolean isApproved);
+
     /**
      * Get Booking by id and userID and bookingId
      * @param userId
@@ -48,4 +71,24 @@ public interface BookingService {
      * @return
      */
     List<BookingDtoResponse> getAllByBooker(long userId, String state, PageRequest page);
+
+    /**
+     * Get page of bookings for item's owner and state, ordered by start desc
+     * @param userId
+     * @param state
+     * @param cursor cursor of the previous page, blank for the first page
+     * @param size
+     * @return bookings and cursor of the next page
+     */
+    BookingDtoPage getAllByOwner(long userId, String state, String cursor, int size);
+
+    /**
+     * Get page of bookings for user and state, ordered by start desc
+     * @param userId
+     * @param state
+     * @param cursor cursor of the previous page, blank for the first page
+     * @param size
+     * @return bookings and cursor of the next page
+     */
+    BookingDtoPage getAllByBooker(long userId, String state, String cursor, int size);
 }
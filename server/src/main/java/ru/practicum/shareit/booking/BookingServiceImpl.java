@@ -4,10 +4,14 @@ import com.querydsl.core.types.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingBulkResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoPage;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.dto.BookingMapping;
 import ru.practicum.shareit.booking.enums.BookingState;
@@ -19,30 +23,45 @@ import ru.practicum.shareit.exceptions.NoAccessException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.RequestException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemViewCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.util.Constants;
+import ru.practicum.shareit.util.PageCursor;
 import ru.practicum.shareit.util.QPredicate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.model.QBooking.booking;
 import static ru.practicum.shareit.util.Constants.MSG_ITEM_WITH_ID_NOT_FOUND;
 import static ru.practicum.shareit.util.Constants.MSG_USER_WITH_ID_NOT_FOUND;
-import static ru.practicum.shareit.util.Constants.SORT_BY_START_DESC;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final String MSG_OWNER_CANNOT_BOOK = "The owner cannot book his item";
+
     private final UserService userService;
 
     private final BookingRepository repository;
+    private final BookingIntervalIndex intervalIndex;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ItemViewCache itemViewCache;
 
     @Override
     @Transactional
@@ -54,24 +73,56 @@ public class BookingServiceImpl implements BookingService {
                 () -> new NotFoundException(String.format(MSG_ITEM_WITH_ID_NOT_FOUND, bookingDto.getItemId())));
 
         if (item.getOwner().getId() == userId) {
-            throw new NotFoundException("The owner cannot book his item");
+            throw new NotFoundException(MSG_OWNER_CANNOT_BOOK);
         }
 
         if (!item.isAvailable()) {
-            throw new AvailableException(String.format("Item with id=%d is not available", bookingDto.getItemId()));
+            throw new AvailableException(getMsgItemNotAvailable(item));
         }
 
-        if (repository.existsApprovedBookingForItemWithCrossTime(bookingDto.getItemId(), bookingDto.getStart(), bookingDto.getEnd())) {
-            throw new AvailableException(String.format(
-                    "Booking item(id=%d) is not available for dates from %s to %s",
-                    bookingDto.getItemId(), bookingDto.getStart(), bookingDto.getEnd()
-            ));
+        if (intervalIndex.hasOverlap(bookingDto.getItemId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new AvailableException(getMsgNotAvailableForDates(bookingDto));
         }
 
         final Booking booking = repository.save(BookingMapping.toBooking(bookingDto, item, user));
         return BookingMapping.toDto(booking);
     }
 
+    @Override
+    @Transactional
+    public List<BookingBatchResult> bookItems(long userId, List<BookingDto> bookingDtos) {
+        final User user = userRepository.findById(userId).orElseThrow(
+                () -> new NotFoundException(String.format(MSG_USER_WITH_ID_NOT_FOUND, userId)));
+
+        final Set<Long> itemIds = bookingDtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        final Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        intervalIndex.preload(items.keySet());
+
+        final List<BookingBatchResult> results = new ArrayList<>(bookingDtos.size());
+        final Map<Integer, Booking> newBookings = new LinkedHashMap<>();
+        final LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            final BookingDto bookingDto = bookingDtos.get(i);
+            final String error = validateBatchEntry(userId, bookingDto, now, items);
+            if (error != null) {
+                results.add(BookingBatchResult.rejected(i, error));
+                continue;
+            }
+            newBookings.put(i, BookingMapping.toBooking(bookingDto, items.get(bookingDto.getItemId()), user));
+            results.add(null);
+        }
+
+        repository.insertAll(new ArrayList<>(newBookings.values()));
+        newBookings.forEach((index, booking) -> results.set(index, BookingBatchResult.created(index, BookingMapping.toDto(booking))));
+        log.debug("Batch of {} bookings for user(id={}): {} created", bookingDtos.size(), userId, newBookings.size());
+        return results;
+    }
+
     @Override
     @Transactional
     public BookingDtoResponse approveBooking(long userId, long bookingId, boolean isApproved) {
@@ -84,24 +135,86 @@ public class BookingServiceImpl implements BookingService {
         if (!BookingStatus.WAITING.equals(booking.getStatus())) {
             throw new RequestException("The booking status should be 'WAITING'");
         }
-        if (booking.getItem().getOwner().getId() != userId) {
+        final Item item = itemRepository.findByIdForUpdate(booking.getItem().getId()).orElseThrow(
+                () -> new NotFoundException(String.format(MSG_ITEM_WITH_ID_NOT_FOUND, booking.getItem().getId())));
+        if (item.getOwner().getId() != userId) {
             throw new NoAccessException(String.format("The user(id=%d) does not have access to approve booking.", userId));
         }
         if (isEndDateInPast(booking)) {
             throw new NoAccessException("You cannot confirm a booking that has already expired");
         }
-        if (repository.existsApprovedBookingForItemWithCrossTime(booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
-            throw new AvailableException(String.format(
-                    "Booking(id=%d) for item(id=%d) is not available for approve for dates from %s to %s",
-                    bookingId, booking.getItem().getId(), booking.getStart(), booking.getEnd()
-            ));
+        if (intervalIndex.hasOverlap(item.getId(), booking.getStart(), booking.getEnd())) {
+            throw new AvailableException(getMsgNotAvailableForApprove(booking));
         }
 
         booking.setStatus(isApproved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        Booking updatedBooking = repository.save(booking);
+        final Booking updatedBooking;
+        try {
+            updatedBooking = repository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException ex) {
+            throw new AvailableException(getMsgNotAvailableForApprove(booking));
+        }
+        if (isApproved) {
+            intervalIndex.add(item.getId(), booking.getStart(), booking.getEnd());
+            itemRepository.refreshBookingPointers(List.of(item.getId()), LocalDateTime.now());
+            itemViewCache.evict(item.getId());
+        }
         return BookingMapping.toDto(updatedBooking);
     }
 
+    @Override
+    @Transactional
+    public BookingBulkResult approveBookings(long userId, List<Long> bookingIds, boolean isApproved) {
+        final Set<Long> ids = new LinkedHashSet<>(bookingIds);
+        if (ids.isEmpty()) {
+            return new BookingBulkResult(Collections.emptyList(), 0);
+        }
+        final Map<Long, Booking> bookings = repository.findAllWithItemByIdIn(ids).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        final List<Booking> orderedBookings = new ArrayList<>(ids.size());
+        for (Long bookingId : ids) {
+            final Booking booking = bookings.get(bookingId);
+            if (booking == null) {
+                throw new NotFoundException(String.format(Constants.MSG_BOOKING_WITH_ID_NOT_FOUND, bookingId));
+            }
+            checkCanChangeStatus(userId, booking);
+            orderedBookings.add(booking);
+        }
+
+        final Set<Long> itemIds = orderedBookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        itemRepository.findAllByIdInForUpdate(itemIds);
+        if (isApproved) {
+            final List<Booking> byItemAndStart = new ArrayList<>(orderedBookings);
+            byItemAndStart.sort(Comparator.comparing((Booking booking) -> booking.getItem().getId())
+                    .thenComparing(Booking::getStart));
+            for (Booking booking : byItemAndStart) {
+                if (intervalIndex.hasOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+                    throw new AvailableException(getMsgNotAvailableForApprove(booking));
+                }
+                intervalIndex.add(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+            }
+        }
+
+        final BookingStatus status = isApproved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        final int autoRejected;
+        try {
+            repository.updateStatus(ids, status);
+            autoRejected = isApproved ? repository.rejectWaitingOverlapping(ids) : 0;
+            if (isApproved) {
+                itemRepository.refreshBookingPointers(itemIds, LocalDateTime.now());
+                itemIds.forEach(itemViewCache::evict);
+            }
+        } catch (DataIntegrityViolationException ex) {
+            throw new AvailableException("Bookings cannot be approved: dates overlap with approved bookings");
+        }
+        orderedBookings.forEach(booking -> booking.setStatus(status));
+        log.debug("User(id={}) set status {} for {} bookings, {} overlapping bookings rejected",
+                userId, status, ids.size(), autoRejected);
+        return new BookingBulkResult(BookingMapping.toListDto(orderedBookings), autoRejected);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public BookingDtoResponse getBookingByIdForUser(long userId, long bookingId) {
@@ -127,8 +240,38 @@ public class BookingServiceImpl implements BookingService {
         return BookingMapping.toListDto(bookings);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BookingDtoPage getAllByBooker(long userId, String state, String cursor, int size) {
+        return getBookingPageByUserAndState(userId, state, false, cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingDtoPage getAllByOwner(long userId, String state, String cursor, int size) {
+        return getBookingPageByUserAndState(userId, state, true, cursor, size);
+    }
+
     @NotNull
     private Iterable<Booking> getBookingsByUserAndState(long userId, String state, boolean isUserOwner, PageRequest page) {
+        final BookingFilter filterByState = getFilterByUserAndState(userId, state, isUserOwner);
+        return getBookingsByFilter(filterByState, page);
+    }
+
+    private BookingDtoPage getBookingPageByUserAndState(long userId, String state, boolean isUserOwner,
+                                                        String cursor, int size) {
+        final PageCursor after = PageCursor.decode(cursor).orElse(null);
+        final BookingFilter filterByState = getFilterByUserAndState(userId, state, isUserOwner);
+        final List<Booking> bookings = repository.findAllAfterCursor(getPredicate(filterByState), after, size + 1);
+        if (bookings.size() <= size) {
+            return new BookingDtoPage(BookingMapping.toListDto(bookings), null);
+        }
+        final List<Booking> page = bookings.subList(0, size);
+        final Booking last = page.get(size - 1);
+        return new BookingDtoPage(BookingMapping.toListDto(page), new PageCursor(last.getStart(), last.getId()).encode());
+    }
+
+    private BookingFilter getFilterByUserAndState(long userId, String state, boolean isUserOwner) {
         if (!userService.existUser(userId)) {
             throw new NotFoundException(String.format(MSG_USER_WITH_ID_NOT_FOUND, userId));
         }
@@ -137,8 +280,7 @@ public class BookingServiceImpl implements BookingService {
                 .owner(isUserOwner ? userId : null)
                 .booker(isUserOwner ? null : userId)
                 .build();
-        final BookingFilter filterByState = getFilter(mainFilter, bookingState);
-        return getBookingsByFilter(filterByState, page);
+        return getFilter(mainFilter, bookingState);
     }
 
     private BookingFilter getFilter(BookingFilter mainFilter, BookingState bookingState) {
@@ -147,10 +289,7 @@ public class BookingServiceImpl implements BookingService {
 
     @NotNull
     private Iterable<Booking> getBookingsByFilter(BookingFilter filter, PageRequest page) {
-        final Predicate predicate = getPredicate(filter);
-        return (page != null)
-                ? repository.findAll(predicate, page.withSort(SORT_BY_START_DESC))
-                : repository.findAll(predicate, SORT_BY_START_DESC);
+        return repository.findAllWithItemAndBooker(getPredicate(filter), page);
     }
 
     private Predicate getPredicate(BookingFilter filter) {
@@ -171,6 +310,72 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
     }
 
+    private void checkCanChangeStatus(long userId, Booking booking) {
+        if (booking.getBooker().getId() == userId) {
+            throw new NotFoundException("Booker cannot change booking status");
+        }
+        if (!BookingStatus.WAITING.equals(booking.getStatus())) {
+            throw new RequestException(String.format("The booking(id=%d) status should be 'WAITING'", booking.getId()));
+        }
+        if (booking.getItem().getOwner().getId() != userId) {
+            throw new NoAccessException(String.format("The user(id=%d) does not have access to approve booking.", userId));
+        }
+        if (isEndDateInPast(booking)) {
+            throw new NoAccessException(String.format(
+                    "You cannot confirm a booking(id=%d) that has already expired", booking.getId()));
+        }
+    }
+
+    private String validateBatchEntry(long userId, BookingDto bookingDto, LocalDateTime now, Map<Long, Item> items) {
+        if (bookingDto == null) {
+            return "Booking cannot be null";
+        }
+        if (bookingDto.getItemId() == null) {
+            return "ItemId cannot be empty or null";
+        }
+        if (bookingDto.getStart() == null || bookingDto.getEnd() == null) {
+            return "Booking start and end dates cannot be empty or null";
+        }
+        if (bookingDto.getStart().isBefore(now)) {
+            return "Booking start date must not be in the past";
+        }
+        if (!bookingDto.getStart().isBefore(bookingDto.getEnd())) {
+            return "Booking start date must be before end date.";
+        }
+        final Item item = items.get(bookingDto.getItemId());
+        if (item == null) {
+            return String.format(MSG_ITEM_WITH_ID_NOT_FOUND, bookingDto.getItemId());
+        }
+        if (item.getOwner().getId() == userId) {
+            return MSG_OWNER_CANNOT_BOOK;
+        }
+        if (!item.isAvailable()) {
+            return getMsgItemNotAvailable(item);
+        }
+        if (intervalIndex.hasOverlap(item.getId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            return getMsgNotAvailableForDates(bookingDto);
+        }
+        return null;
+    }
+
+    private String getMsgItemNotAvailable(Item item) {
+        return String.format("Item with id=%d is not available", item.getId());
+    }
+
+    private String getMsgNotAvailableForDates(BookingDto bookingDto) {
+        return String.format(
+                "Booking item(id=%d) is not available for dates from %s to %s",
+                bookingDto.getItemId(), bookingDto.getStart(), bookingDto.getEnd()
+        );
+    }
+
+    private String getMsgNotAvailableForApprove(Booking booking) {
+        return String.format(
+                "Booking(id=%d) for item(id=%d) is not available for approve for dates from %s to %s",
+                booking.getId(), booking.getItem().getId(), booking.getStart(), booking.getEnd()
+        );
+    }
+
     private boolean isEndDateInPast(Booking booking) {
         return booking.getEnd().isBefore(LocalDateTime.now());
     }
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingBatchResult {
+    private int index;// позиция брони в запросе
+    private boolean created;
+    private BookingDtoResponse booking;// созданная бронь
+    private String error;// причина отказа
+
+    public static BookingBatchResult created(int index, BookingDtoResponse booking) {
+        return new BookingBatchResult(index, true, booking, null);
+    }
+
+    public static BookingBatchResult rejected(int index, String error) {
+        return new BookingBatchResult(index, false, null, error);
+    }
+}
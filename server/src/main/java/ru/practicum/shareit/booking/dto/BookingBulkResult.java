@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBulkResult {
+    private List<BookingDtoResponse> bookings;// брони с новым статусом
+    private int autoRejected;// количество отклонённых пересекающихся броней в статусе WAITING
+}
@@ -48,6 +48,14 @@ public class BookingMapping {
                 .build();
     }
 
+    public static BookingDtoShort toShortDto(Booking booking) {
+        return BookingDtoShort.builder()
+                .id(booking.getId())
+                .bookerId(booking.getBooker().getId())
+                .start(booking.getStart())
+                .build();
+    }
+
     public static List<BookingDtoResponse> toListDto(Iterable<Booking> iterator) {
         if (!iterator.iterator().hasNext()) return Collections.emptyList();
 
@@ -19,9 +19,12 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import java.time.LocalDateTime;
 
+import static ru.practicum.shareit.util.Constants.ID_ALLOCATION_SIZE;
+
 @Data
 @Builder(toBuilder = true)
 @NoArgsConstructor
@@ -30,7 +33,8 @@ import java.time.LocalDateTime;
 @Table(name = "bookings")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private long id;// уникальный идентификатор
     @Column(name = "start_booking")
@@ -1,25 +1,77 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
-import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     /**
-     * Find comments for item
+     * Find the newest comments for item with authors
      * @param itemId
-     * @return
+     * @param page number of comments
+     * @return comments ordered by created date and id descending
      */
-    List<Comment> findAllByItemId(long itemId);
+    @Query("select c from Comment c join fetch c.author " +
+            "where c.item.id = :itemId " +
+            "order by c.created desc, c.id desc")
+    List<Comment> findLatestByItemId(@Param("itemId") long itemId, Pageable page);
 
     /**
-     * Find all comments for items
-     * @param items
-     * @return
+     * Find comments for item older than the cursor position with authors
+     * @param itemId
+     * @param created created date of the last returned comment
+     * @param id id of the last returned comment
+     * @param page number of comments
+     * @return comments ordered by created date and id descending
+     */
+    @Query("select c from Comment c join fetch c.author " +
+            "where c.item.id = :itemId " +
+            "and (c.created < :created or (c.created = :created and c.id < :id)) " +
+            "order by c.created desc, c.id desc")
+    List<Comment> findByItemIdAfter(@Param("itemId") long itemId,
+                                    @Param("created") LocalDateTime created,
+                                    @Param("id") long id,
+                                    Pageable page);
+
+    /**
+     * Find up to limit newest comments for every item with authors
+     * @param itemIds
+     * @param limit number of comments per item
+     * @return comments ordered by created date and id descending
+     */
+    default List<Comment> findLatestByItemIdIn(Collection<Long> itemIds, long limit) {
+        final List<Long> ids = findLatestIdsByItemIdIn(itemIds, limit);
+        return ids.isEmpty() ? Collections.emptyList() : findAllWithAuthorByIdIn(ids);
+    }
+
+    /**
+     * Find ids of up to limit newest comments for every item, ranked in one pass over the item index
+     * @param itemIds
+     * @param limit number of comments per item
+     * @return comment ids
+     */
+    @Query(value = "select ranked.id from (" +
+            "select c.id, row_number() over (partition by c.item_id order by c.created desc, c.id desc) as place " +
+            "from comments c where c.item_id in (:itemIds)) ranked " +
+            "where ranked.place <= :limit", nativeQuery = true)
+    List<Long> findLatestIdsByItemIdIn(@Param("itemIds") Collection<Long> itemIds, @Param("limit") long limit);
+
+    /**
+     * Find comments with authors
+     * @param ids
+     * @return comments ordered by created date and id descending
      */
-    List<Comment> findAllByItemIn(List<Item> items);
+    @Query("select c from Comment c join fetch c.author " +
+            "where c.id in :ids " +
+            "order by c.created desc, c.id desc")
+    List<Comment> findAllWithAuthorByIdIn(@Param("ids") Collection<Long> ids);
 
     /**
      * Check for a comment on an item from the user
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves last/next booking pointers of items forward when the next booking starts
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingPointerScheduler {
+    private final ItemRepository itemRepository;
+
+    @Scheduled(fixedDelayString = "${shareit.item.booking-pointers.roll-delay}")
+    @Transactional
+    public void rollBookingPointers() {
+        final int updated = itemRepository.rollBookingPointers(LocalDateTime.now());
+        if (updated > 0) {
+            log.debug("Booking pointers rolled for {} items", updated);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item;
+
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Published by {@link ItemService} when an item is created or updated.
+ * Holds a copy of the searchable fields before and after the change
+ */
+@Value
+public class ItemChangedEvent {
+    long itemId;
+    @Nullable
+    String previousName;// null для новой вещи
+    @Nullable
+    String previousDescription;
+    @Nullable
+    Boolean previousAvailable;
+    String name;
+    String description;
+    boolean available;
+    @Nullable
+    Long requestId;// запрос, в ответ на который добавлена вещь
+
+    public static ItemChangedEvent created(Item item) {
+        return new ItemChangedEvent(item.getId(), null, null, null,
+                item.getName(), item.getDescription(), item.isAvailable(), requestId(item));
+    }
+
+    public static ItemChangedEvent updated(Item previous, Item item) {
+        return new ItemChangedEvent(item.getId(), previous.getName(), previous.getDescription(), previous.isAvailable(),
+                item.getName(), item.getDescription(), item.isAvailable(), requestId(item));
+    }
+
+    /**
+     * @return true if the item did not exist before
+     */
+    public boolean isCreated() {
+        return previousAvailable == null;
+    }
+
+    private static Long requestId(Item item) {
+        return item.getRequest() == null ? null : item.getRequest().getId();
+    }
+}
@@ -3,7 +3,9 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -16,15 +18,19 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentDtoPage;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
 import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ACS;
+import static ru.practicum.shareit.util.Constants.TEXT_CSV_VALUE;
 import static ru.practicum.shareit.util.Constants.X_SHARER_USER_ID;
 
 @RestController
@@ -35,6 +41,7 @@ import static ru.practicum.shareit.util.Constants.X_SHARER_USER_ID;
 public class ItemController {
 
     private final ItemService service;
+    private final ItemImportService importService;
 
     @GetMapping
     public Collection<ItemDtoResponse> getAll(@RequestHeader("X-Sharer-User-Id") long userId,
@@ -97,6 +104,30 @@ public class ItemController {
         return service.search(text, page);
     }
 
+    @GetMapping("/suggest")
+    public List<String> suggest(@RequestParam(name = "prefix") String prefix,
+                                @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.debug("Request received GET '/items/suggest?prefix={}&size={}'", prefix, size);
+        return service.suggest(prefix, size);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public CommentDtoPage getComments(@PathVariable(name = "itemId") long itemId,
+                                      @RequestParam(name = "cursor", required = false) String cursor,
+                                      @RequestParam(name = "size", defaultValue = "20") Integer size) {
+        log.debug("Request received GET '/items/{}/comments?cursor={}&size={}'", itemId, cursor, size);
+        return service.getComments(itemId, cursor, size);
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public ItemImportResult importItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                        @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                        InputStream body) {
+        log.debug(X_SHARER_USER_ID, userId);
+        log.debug("Request received POST '/items/import' : {}", contentType);
+        return importService.importItems(userId, contentType, body);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDtoResponse createCommentToItem(@RequestHeader(value = "X-Sharer-User-Id", required = false) long userId,
                                                   @PathVariable(name = "itemId") long itemId,
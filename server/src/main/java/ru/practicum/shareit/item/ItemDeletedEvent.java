@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item;
+
+import lombok.Value;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Published by {@link ru.practicum.shareit.user.UserService} for every item deleted together with its owner.
+ * Holds a copy of the searchable fields, so in-memory indexes can remove the item after commit
+ */
+@Value
+public class ItemDeletedEvent {
+    long itemId;
+    String name;
+    String description;
+    boolean available;
+
+    public static ItemDeletedEvent of(Item item) {
+        return new ItemDeletedEvent(item.getId(), item.getName(), item.getDescription(), item.isAvailable());
+    }
+}
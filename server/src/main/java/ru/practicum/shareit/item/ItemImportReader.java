@@ -0,0 +1,167 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exceptions.RequestException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static ru.practicum.shareit.util.Constants.TEXT_CSV_VALUE;
+
+/**
+ * Turns a single line of an import body into an {@link ItemDto}.
+ * CSV must start with a header naming the columns name, description, available and requestId in any order,
+ * quoted values may contain commas and doubled quotes but not line breaks
+ */
+abstract class ItemImportReader {
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    static ItemImportReader of(MediaType contentType, ObjectMapper objectMapper) {
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return new JsonLines(objectMapper);
+        }
+        if (TEXT_CSV.isCompatibleWith(contentType)) {
+            return new Csv();
+        }
+        throw new RequestException(String.format("Unsupported import format %s", contentType));
+    }
+
+    /**
+     * @param line first non blank line
+     * @return true if the line is a header and holds no item
+     * @throws RequestException if the header is malformed
+     */
+    boolean readHeader(String line) {
+        return false;
+    }
+
+    /**
+     * @param line non blank line after the header
+     * @return parsed item
+     * @throws RequestException if the line is malformed
+     */
+    abstract ItemDto read(String line);
+
+    private static final class JsonLines extends ItemImportReader {
+        private final ObjectMapper objectMapper;
+
+        private JsonLines(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        ItemDto read(String line) {
+            try {
+                final ItemDto itemDto = objectMapper.readValue(line, ItemDto.class);
+                if (itemDto == null) {
+                    throw new RequestException("Line is not an item");
+                }
+                return itemDto;
+            } catch (JsonProcessingException e) {
+                throw new RequestException("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class Csv extends ItemImportReader {
+        private static final List<String> REQUIRED_COLUMNS = List.of("name", "description", "available");
+
+        private Map<String, Integer> columns;
+
+        @Override
+        boolean readHeader(String line) {
+            final List<String> values = split(line);
+            columns = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                columns.put(values.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String column : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(column)) {
+                    throw new RequestException(String.format("CSV header has no column '%s'", column));
+                }
+            }
+            return true;
+        }
+
+        @Override
+        ItemDto read(String line) {
+            final List<String> values = split(line);
+            return ItemDto.builder()
+                    .name(value(values, "name"))
+                    .description(value(values, "description"))
+                    .available(toBoolean(value(values, "available")))
+                    .requestId(toLong(value(values, "requestid")))
+                    .build();
+        }
+
+        @Nullable
+        private String value(List<String> values, String column) {
+            final Integer index = columns.get(column);
+            if (index == null || index >= values.size() || values.get(index).isEmpty()) {
+                return null;
+            }
+            return values.get(index);
+        }
+
+        @Nullable
+        private static Boolean toBoolean(@Nullable String value) {
+            if (value == null) {
+                return null;
+            }
+            if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+                return Boolean.valueOf(value);
+            }
+            throw new RequestException(String.format("Available must be true or false, but was '%s'", value));
+        }
+
+        @Nullable
+        private static Long toLong(@Nullable String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Long.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                throw new RequestException(String.format("RequestId must be a number, but was '%s'", value));
+            }
+        }
+
+        private static List<String> split(String line) {
+            final List<String> values = new ArrayList<>();
+            final StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                final char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        value.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            if (quoted) {
+                throw new RequestException("Unclosed quote");
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+}
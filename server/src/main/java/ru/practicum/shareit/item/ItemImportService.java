@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+
+import java.io.InputStream;
+
+public interface ItemImportService {
+    /**
+     * Read items from the body line by line and insert them in batches while reading.
+     * Invalid lines are skipped and reported in the result
+     * @param userId owner of the new items
+     * @param contentType application/x-ndjson or text/csv
+     * @param body request body
+     * @return number of imported items and per-line errors
+     */
+    ItemImportResult importItems(long userId, MediaType contentType, InputStream body);
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.exceptions.RequestException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportError;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.Constants.MSG_USER_WITH_ID_NOT_FOUND;
+
+/**
+ * Each batch is validated against the requests with one query and inserted with JDBC batching
+ * in its own transaction, so memory use does not depend on the body size.
+ * Batches committed before a failure stay in the database
+ */
+@Slf4j
+@Service
+public class ItemImportServiceImpl implements ItemImportService {
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ItemImportServiceImpl(UserRepository userRepository,
+                                 ItemRepository itemRepository,
+                                 ItemRequestRepository itemRequestRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${shareit.item.import.batch-size}") int batchSize) {
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ItemImportResult importItems(long userId, MediaType contentType, InputStream body) {
+        final User owner = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException(String.format(MSG_USER_WITH_ID_NOT_FOUND, userId)));
+        final ItemImportReader reader = ItemImportReader.of(contentType, objectMapper);
+        final ItemImportResult result = new ItemImportResult(0, 0, new ArrayList<>());
+        final List<ImportLine> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            boolean header = true;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (header) {
+                    header = false;
+                    if (reader.readHeader(line)) {
+                        continue;
+                    }
+                }
+                final ItemDto itemDto;
+                try {
+                    itemDto = reader.read(line);
+                } catch (RequestException e) {
+                    addError(result, lineNumber, e.getMessage());
+                    continue;
+                }
+                final String error = validate(itemDto);
+                if (error != null) {
+                    addError(result, lineNumber, error);
+                    continue;
+                }
+                batch.add(new ImportLine(lineNumber, itemDto));
+                if (batch.size() >= batchSize) {
+                    insertBatch(batch, owner, result);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        insertBatch(batch, owner, result);
+        result.getErrors().sort(Comparator.comparingLong(ItemImportError::getLine));
+
+        log.info("User id={} imported {} items, {} lines rejected", userId, result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void insertBatch(List<ImportLine> batch, User owner, ItemImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        final Set<Long> requestIds = batch.stream()
+                .map(line -> line.item.getRequestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        final Set<Long> existingRequestIds = requestIds.isEmpty()
+                ? Collections.emptySet()
+                : itemRequestRepository.findExistingIds(requestIds);
+
+        final List<Item> items = new ArrayList<>(batch.size());
+        for (ImportLine line : batch) {
+            final Long requestId = line.item.getRequestId();
+            if (requestId != null && !existingRequestIds.contains(requestId)) {
+                addError(result, line.number, String.format("Request(id=%d) not found", requestId));
+                continue;
+            }
+            final Item newItem = ItemMapper.mapToItem(line.item, owner);
+            if (requestId != null) {
+                newItem.setRequest(ItemRequest.builder().id(requestId).build());
+            }
+            items.add(newItem);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            itemRepository.insertAll(items);
+            items.forEach(newItem -> eventPublisher.publishEvent(ItemChangedEvent.created(newItem)));
+        });
+        result.setImported(result.getImported() + items.size());
+    }
+
+    @Nullable
+    private static String validate(ItemDto itemDto) {
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Name cannot be empty or null";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Description cannot be empty or null";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Available cannot be null";
+        }
+        return null;
+    }
+
+    private static void addError(ItemImportResult result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ItemImportError(line, message));
+        }
+    }
+
+    private static final class ImportLine {
+        private final long number;
+        private final ItemDto item;
+
+        private ImportLine(long number, ItemDto item) {
+            this.number = number;
+            this.item = item;
+        }
+    }
+}
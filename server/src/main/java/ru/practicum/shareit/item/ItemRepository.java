@@ -2,24 +2,30 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
     /**
      * Get all items by owner
      * @param owner - owner id
      * @param sort
      * @return collection of items
      */
+    @EntityGraph(attributePaths = {"lastBooking", "nextBooking"})
     List<Item> findAllByOwnerId(Long owner, Sort sort);
 
     /**
@@ -28,8 +34,41 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      * @param page
      * @return
      */
+    @EntityGraph(attributePaths = {"lastBooking", "nextBooking"})
     Page<Item> findAllByOwnerId(long userId, PageRequest page);
 
+    /**
+     * Find items added in response to any of the requests, with a single query
+     * @param requestIds requests
+     * @return items, owner and request are not fetched
+     */
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
+    /**
+     * Find items of other owners added in response to the user's requests,
+     * they are deleted together with the requests when the user is deleted
+     * @param requesterId requester
+     * @param ownerId owner whose items are skipped, the requester
+     * @return items, owner, request and bookings are not fetched
+     */
+    List<Item> findAllByRequestRequesterIdAndOwnerIdNot(long requesterId, long ownerId);
+
+    /**
+     * Find item by id together with its last and next bookings
+     * @param itemId item
+     * @return item
+     */
+    @EntityGraph(attributePaths = {"lastBooking", "nextBooking"})
+    Optional<Item> findWithBookingsById(long itemId);
+
+    /**
+     * Get items with id greater than the given one, used to read all items in chunks
+     * @param itemId last read item id
+     * @param page chunk size and sort
+     * @return items
+     */
+    List<Item> findAllByIdGreaterThan(long itemId, Pageable page);
+
     /**
      * Find by id and owner
      * @param itemId item
@@ -38,6 +77,88 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      */
     Optional<Item> findByIdAndOwnerId(long itemId, long userId);
 
+    /**
+     * Find item by id and lock its row until the end of the transaction.
+     * Used to serialize booking approvals for the same item
+     * @param itemId item
+     * @return item
+     */
+    @Query(value = "select * from items where id = :itemId for update", nativeQuery = true)
+    Optional<Item> findByIdForUpdate(@Param("itemId") long itemId);
+
+    /**
+     * Find items by ids and lock their rows until the end of the transaction.
+     * Rows are locked in id order, so concurrent bulk approvals do not deadlock
+     * @param itemIds items
+     * @return items
+     */
+    @Query(value = "select * from items where id in (:itemIds) order by id for update", nativeQuery = true)
+    List<Item> findAllByIdInForUpdate(@Param("itemIds") Collection<Long> itemIds);
+
+    /**
+     * Recalculate last and next approved bookings of the items
+     * @param itemIds items
+     * @param time current time
+     * @return number of updated items
+     */
+    @Modifying
+    @Query(value = "update items i set " +
+            "last_booking_id = (select b.id from bookings b " +
+            "where b.item_id = i.id and b.status = 'APPROVED' and b.start_booking < :time " +
+            "order by b.start_booking desc limit 1), " +
+            "next_booking_id = (select b.id from bookings b " +
+            "where b.item_id = i.id and b.status = 'APPROVED' and b.start_booking > :time " +
+            "order by b.start_booking limit 1) " +
+            "where i.id in (:itemIds)", nativeQuery = true)
+    int refreshBookingPointers(@Param("itemIds") Collection<Long> itemIds, @Param("time") LocalDateTime time);
+
+    /**
+     * Find items whose last or next booking was made by the user, so that their pointers can be recalculated
+     * after the user's bookings are deleted
+     * @param bookerId booker
+     * @return item ids
+     */
+    @Query("select distinct i.id from Item i left join i.lastBooking l left join i.nextBooking n " +
+            "where l.booker.id = :bookerId or n.booker.id = :bookerId")
+    List<Long> findIdsByBookingPointerBooker(@Param("bookerId") long bookerId);
+
+    /**
+     * Increase the counter of item comments
+     * @param itemId
+     * @return number of updated items
+     */
+    @Modifying
+    @Query(value = "update items set comment_count = comment_count + 1 where id = :itemId", nativeQuery = true)
+    int incrementCommentCount(@Param("itemId") long itemId);
+
+    /**
+     * Take the user's comments out of the counters before they are deleted together with the user
+     * @param authorId
+     * @return number of updated items
+     */
+    @Modifying
+    @Query(value = "update items set comment_count = comment_count - " +
+            "(select count(*) from comments c where c.item_id = items.id and c.author_id = :authorId) " +
+            "where id in (select c.item_id from comments c where c.author_id = :authorId)", nativeQuery = true)
+    int decrementCommentCountsByAuthor(@Param("authorId") long authorId);
+
+    /**
+     * Recalculate last and next approved bookings of the items whose next booking has already started
+     * @param time current time
+     * @return number of updated items
+     */
+    @Modifying
+    @Query(value = "update items i set " +
+            "last_booking_id = (select b.id from bookings b " +
+            "where b.item_id = i.id and b.status = 'APPROVED' and b.start_booking < :time " +
+            "order by b.start_booking desc limit 1), " +
+            "next_booking_id = (select b.id from bookings b " +
+            "where b.item_id = i.id and b.status = 'APPROVED' and b.start_booking > :time " +
+            "order by b.start_booking limit 1) " +
+            "where exists (select n.id from bookings n " +
+            "where n.id = i.next_booking_id and n.start_booking <= :time)", nativeQuery = true)
+    int rollBookingPointers(@Param("time") LocalDateTime time);
+
     /**
      * Returns a collection of items for search substring by name or description
      * @param text search substring
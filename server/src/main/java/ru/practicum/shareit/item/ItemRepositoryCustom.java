@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemRepositoryCustom {
+    /**
+     * Persist new items and flush them, Hibernate sends the inserts in JDBC batches
+     * @param items new items, owner must be set
+     */
+    void insertAll(List<Item> items);
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+    private final EntityManager entityManager;
+
+    public ItemRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void insertAll(List<Item> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        items.forEach(entityManager::persist);
+        entityManager.flush();
+    }
+}
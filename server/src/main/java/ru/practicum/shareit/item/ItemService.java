@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentDtoPage;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
@@ -51,6 +52,23 @@ public interface ItemService {
      */
     List<ItemDtoResponse> search(String text, PageRequest page);
 
+    /**
+     * Returns completions of the last word of the prefix from names of available items
+     * @param prefix typed text
+     * @param size max number of completions
+     * @return words, most frequent first
+     */
+    List<String> suggest(String prefix, int size);
+
+    /**
+     * Returns page of item comments, newest first
+     * @param itemId item
+     * @param cursor cursor from the previous page, blank for the first page
+     * @param size page size
+     * @return comments and cursor of the next page
+     */
+    CommentDtoPage getComments(long itemId, String cursor, int size);
+
     /**
      * Create comment for item
      * @param userId user had booked
@@ -2,17 +2,18 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.dto.BookingMapping;
 import ru.practicum.shareit.booking.dto.BookingDtoShort;
-import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.RequestException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentDtoPage;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
 import ru.practicum.shareit.item.dto.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -20,23 +21,29 @@ import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.util.Constants.LATEST_COMMENTS_SIZE;
 import static ru.practicum.shareit.util.Constants.MSG_ITEM_WITH_ID_NOT_FOUND;
 import static ru.practicum.shareit.util.Constants.MSG_USER_WITH_ID_NOT_FOUND;
 import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ACS;
-import static ru.practicum.shareit.util.Constants.SORT_BY_START_ASC;
 
 @Service
 @RequiredArgsConstructor
@@ -48,6 +55,11 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine searchEngine;
+    private final ItemSearchCache searchCache;
+    private final ItemSuggestIndex suggestIndex;
+    private final ItemViewCache viewCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -62,6 +74,7 @@ public class ItemServiceImpl implements ItemService {
                     .orElseThrow(() -> new NotFoundException(String.format("Request(id=%d) not found", requestId)));
             newItem.setRequest(request);
         }
+        eventPublisher.publishEvent(ItemChangedEvent.created(newItem));
         return ItemMapper.toItemDto(newItem);
     }
 
@@ -80,22 +93,41 @@ public class ItemServiceImpl implements ItemService {
             throw new NotFoundException(String.format("User with id=%d has no items", userId));
         }
 
-        final Map<Long, List<BookingDtoResponse>> bookings =
-                bookingRepository.findAllByOwnerAndStatus(userId, BookingStatus.APPROVED, SORT_BY_START_ASC)
-                        .stream()
-                        .map(BookingMapping::toDto)
-                        .collect(Collectors.groupingBy(BookingDtoResponse::getItemId));
+        final LocalDateTime currentTime = LocalDateTime.now();
+        final Map<Long, BookingDtoShort> lastBookings = new HashMap<>();
+        final Map<Long, BookingDtoShort> nextBookings = new HashMap<>();
+        final List<Long> staleItemIds = new ArrayList<>();
+        for (Item item : items) {
+            if (isNextBookingStarted(item, currentTime)) {
+                staleItemIds.add(item.getId());
+            } else {
+                lastBookings.put(item.getId(), toShortDto(item.getLastBooking()));
+                nextBookings.put(item.getId(), toShortDto(item.getNextBooking()));
+            }
+        }
+        if (!staleItemIds.isEmpty()) {
+            for (Booking booking : bookingRepository.findLastAndNextApprovedByItemIdIn(staleItemIds, currentTime)) {
+                final Map<Long, BookingDtoShort> target =
+                        booking.getStart().isBefore(currentTime) ? lastBookings : nextBookings;
+                target.put(booking.getItem().getId(), BookingMapping.toShortDto(booking));
+            }
+        }
 
-        final Map<Long, List<CommentDtoResponse>> commentList = commentRepository.findAllByItemIn(items)
-                .stream()
+        final List<Long> commentedItemIds = items.stream()
+                .filter(item -> item.getCommentCount() > 0)
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        final Map<Long, List<CommentDtoResponse>> commentList = commentedItemIds.isEmpty()
+                ? Collections.emptyMap()
+                : commentRepository.findLatestByItemIdIn(commentedItemIds, LATEST_COMMENTS_SIZE).stream()
                 .map(CommentMapper::toDto)
                 .collect(Collectors.groupingBy(CommentDtoResponse::getItemId));
 
         return items.stream()
                 .map(item -> ItemMapper.toItemDto(
                         item,
-                        getLastBooking(bookings.get(item.getId())),
-                        getNextBooking(bookings.get(item.getId())),
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId()),
                         commentList.getOrDefault(item.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
     }
@@ -107,23 +139,8 @@ public class ItemServiceImpl implements ItemService {
             throw new NotFoundException(String.format(MSG_USER_WITH_ID_NOT_FOUND, userId));
         }
 
-        final Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException(String.format(MSG_ITEM_WITH_ID_NOT_FOUND, itemId)));
-
-        final List<BookingDtoResponse> booking = bookingRepository.findByItemIdAndOwnerAndStatus(
-                        itemId, userId, BookingStatus.APPROVED, SORT_BY_START_ASC)
-                .stream().map(BookingMapping::toDto)
-                .collect(Collectors.toList());
-
-
-        final BookingDtoShort last = getLastBooking(booking);
-        final BookingDtoShort next = getNextBooking(booking);
-
-        final List<CommentDtoResponse> comments = commentRepository.findAllByItemId(itemId)
-                .stream().map(CommentMapper::toDto)
-                .collect(Collectors.toList());
-
-        return ItemMapper.toItemDto(item, last, next, comments);
+        final LocalDateTime currentTime = LocalDateTime.now();
+        return viewCache.get(itemId, currentTime, () -> loadView(itemId, currentTime)).forUser(userId);
     }
 
     @Override
@@ -135,24 +152,45 @@ public class ItemServiceImpl implements ItemService {
         final Item item = itemRepository.findByIdAndOwnerId(itemId, userId).orElseThrow(
                 () -> new NotFoundException(String.format("Item with id=%d for owner id=%d not found", itemId, userId)));
 
+        final Item previous = item.toBuilder().build();
         if (itemDto.getName() != null) item.setName(itemDto.getName());
         if (itemDto.getDescription() != null) item.setDescription(itemDto.getDescription());
         if (itemDto.getAvailable() != null) item.setAvailable(itemDto.getAvailable());
 
         final Item updatedItem = itemRepository.save(item);
+        eventPublisher.publishEvent(ItemChangedEvent.updated(previous, updatedItem));
         return ItemMapper.toItemDto(updatedItem);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ItemDtoResponse> search(String text, PageRequest page) {
-        final List<Item> items = (page == null)
-                ? itemRepository.findAllByNameOrDescriptionIgnoreCase(text, SORT_BY_ID_ACS)
-                : itemRepository.findAllByNameOrDescriptionIgnoreCase(text, page).getContent();
-
-        return items.stream()
+        return searchCache.get(text, page, () -> searchEngine.search(text, page).stream()
                 .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int size) {
+        return suggestIndex.suggest(prefix, Math.min(size, ItemSuggestIndex.MAX_SUGGESTIONS));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentDtoPage getComments(long itemId, String cursor, int size) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException(String.format(MSG_ITEM_WITH_ID_NOT_FOUND, itemId));
+        }
+        final PageRequest limit = PageRequest.of(0, size + 1);
+        final List<Comment> comments = PageCursor.decode(cursor)
+                .map(after -> commentRepository.findByItemIdAfter(itemId, after.getTime(), after.getId(), limit))
+                .orElseGet(() -> commentRepository.findLatestByItemId(itemId, limit));
+        if (comments.size() <= size) {
+            return new CommentDtoPage(toCommentDtos(comments), null);
+        }
+        final List<Comment> page = comments.subList(0, size);
+        final Comment last = page.get(size - 1);
+        return new CommentDtoPage(toCommentDtos(page), new PageCursor(last.getCreated(), last.getId()).encode());
     }
 
     @Override
@@ -175,28 +213,56 @@ public class ItemServiceImpl implements ItemService {
 
 
         final Comment comment = commentRepository.save(CommentMapper.toComment(commentDto, user, item, currentTime));
+        itemRepository.incrementCommentCount(itemId);
+        viewCache.evict(itemId);
+        searchCache.evictItem(itemId);
         return CommentMapper.toDto(comment);
     }
 
-    @Nullable
-    private BookingDtoShort getNextBooking(List<BookingDtoResponse> booking) {
-        if (booking == null || booking.isEmpty()) return null;
-        final LocalDateTime currentTime = LocalDateTime.now();
-        return booking.stream()
-                .filter(b -> b.getStart().isAfter(currentTime))
-                .findFirst()
-                .map(BookingMapping::toShortDto)
-                .orElse(null);
+    private ItemView loadView(long itemId, LocalDateTime currentTime) {
+        final Item item = itemRepository.findWithBookingsById(itemId)
+                .orElseThrow(() -> new NotFoundException(String.format(MSG_ITEM_WITH_ID_NOT_FOUND, itemId)));
+
+        BookingDtoShort last = null;
+        BookingDtoShort next = null;
+        if (isNextBookingStarted(item, currentTime)) {
+            for (Booking booking : bookingRepository.findLastAndNextApprovedByItemIdIn(List.of(itemId), currentTime)) {
+                if (booking.getStart().isBefore(currentTime)) {
+                    last = BookingMapping.toShortDto(booking);
+                } else {
+                    next = BookingMapping.toShortDto(booking);
+                }
+            }
+        } else {
+            last = toShortDto(item.getLastBooking());
+            next = toShortDto(item.getNextBooking());
+        }
+
+        final List<CommentDtoResponse> comments = (item.getCommentCount() == 0)
+                ? Collections.emptyList()
+                : toCommentDtos(commentRepository.findLatestByItemId(itemId, PageRequest.of(0, LATEST_COMMENTS_SIZE)));
+
+        return new ItemView(item.getOwner().getId(),
+                ItemMapper.toItemDto(item, last, next, comments),
+                ItemMapper.toItemDto(item, null, null, comments),
+                next == null ? null : next.getStart());
+    }
+
+    private List<CommentDtoResponse> toCommentDtos(List<Comment> comments) {
+        return comments.stream()
+                .map(CommentMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Booking pointers of the item are rolled by the scheduler, so the next booking may have already started
+     */
+    private boolean isNextBookingStarted(Item item, LocalDateTime currentTime) {
+        return item.getNextBooking() != null && !item.getNextBooking().getStart().isAfter(currentTime);
     }
 
     @Nullable
-    private BookingDtoShort getLastBooking(List<BookingDtoResponse> booking) {
-        if (booking == null || booking.isEmpty()) return null;
-        final LocalDateTime currentTime = LocalDateTime.now();
-        return booking.stream()
-                .filter(b -> b.getStart().isBefore(currentTime))
-                .reduce((booking1, booking2) -> booking2)
-                .map(BookingMapping::toShortDto)
-                .orElse(null);
+    private BookingDtoShort toShortDto(@Nullable Booking booking) {
+        return booking == null ? null : BookingMapping.toShortDto(booking);
     }
 }
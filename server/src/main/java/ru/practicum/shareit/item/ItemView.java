@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item;
+
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Assembled item details: the owner sees last and next bookings, other users do not.
+ * The view is valid until the next booking starts
+ */
+@Value
+public class ItemView {
+    long ownerId;
+    ItemDtoResponse ownerView;// с последним и ближайшим бронированием
+    ItemDtoResponse publicView;// без бронирований
+    @Nullable
+    LocalDateTime validUntil;// начало ближайшего бронирования
+
+    public ItemDtoResponse forUser(long userId) {
+        return (userId == ownerId) ? ownerView : publicView;
+    }
+
+    public boolean isValidAt(LocalDateTime time) {
+        return validUntil == null || time.isBefore(validUntil);
+    }
+}
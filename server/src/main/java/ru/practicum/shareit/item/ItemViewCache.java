@@ -0,0 +1,191 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.UserDeletedEvent;
+import ru.practicum.shareit.user.UserRenamedEvent;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of {@link ItemView} by item id.
+ * A view expires when its next booking starts and is evicted after commit of item update, new comment
+ * or booking approval, all views are dropped after commit of user deletion or rename.
+ * Hits, misses, expirations, invalidations, evictions and size are published as cache.* meters with tag cache=itemView
+ */
+@Component
+public class ItemViewCache implements MeterBinder {
+    static final String CACHE_NAME = "itemView";
+
+    private final int maxSize;
+    private final Map<Long, ItemView> views;
+    private long version;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ItemViewCache(@Value("${shareit.item.view-cache.max-size}") int maxSize) {
+        this.maxSize = maxSize;
+        this.views = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ItemView> eldest) {
+                if (size() > ItemViewCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get cached view valid at the time or load and cache it.
+     * The view is not cached if the item was evicted while it was loading
+     * @param itemId
+     * @param currentTime time of the request
+     * @param loader assembles the view on a miss
+     * @return item view, shared between callers
+     */
+    public ItemView get(long itemId, LocalDateTime currentTime, Supplier<ItemView> loader) {
+        if (maxSize <= 0) {
+            return loader.get();
+        }
+        final long loadVersion;
+        synchronized (this) {
+            final ItemView cached = views.get(itemId);
+            if (cached != null) {
+                if (cached.isValidAt(currentTime)) {
+                    hits.increment();
+                    return cached;
+                }
+                views.remove(itemId);
+                expirations.increment();
+            }
+            loadVersion = version;
+        }
+        misses.increment();
+        final ItemView view = loader.get();
+        synchronized (this) {
+            if (version == loadVersion) {
+                views.put(itemId, view);
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Evict item's view. If called inside a transaction, the view is evicted after commit
+     * @param itemId
+     */
+    public void evict(long itemId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(itemId);
+                }
+            });
+        } else {
+            remove(itemId);
+        }
+    }
+
+    /**
+     * Evict view of the committed updated item
+     * @param event item change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (!event.isCreated()) {
+            remove(event.getItemId());
+        }
+    }
+
+    /**
+     * Drop all views after commit of user deletion: the user's items, comments and bookings are deleted
+     * with the user and may be shown in views of any item
+     * @param event deleted user
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        clear();
+    }
+
+    /**
+     * Drop all views after commit of user rename: the name is shown in views as author of the user's comments
+     * @param event renamed user
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRenamed(UserRenamedEvent event) {
+        clear();
+    }
+
+    /**
+     * @return number of cached views
+     */
+    public synchronized int size() {
+        return views.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .description("Item views returned from the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .description("Item views assembled from the database")
+                .register(registry);
+        FunctionCounter.builder("cache.expirations", expirations, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME)
+                .description("Item views dropped because the next booking has started")
+                .register(registry);
+        FunctionCounter.builder("cache.invalidations", invalidations, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME)
+                .description("Item views dropped because of item, comment, booking or user changes")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME)
+                .description("Item views evicted because of the size limit")
+                .register(registry);
+        Gauge.builder("cache.size", this, ItemViewCache::size)
+                .tags("cache", CACHE_NAME)
+                .description("Number of cached item views")
+                .register(registry);
+    }
+
+    long hitCount() {
+        return hits.sum();
+    }
+
+    long expirationCount() {
+        return expirations.sum();
+    }
+
+    private synchronized void clear() {
+        version++;
+        invalidations.add(views.size());
+        views.clear();
+    }
+
+    private synchronized void remove(long itemId) {
+        version++;
+        if (views.remove(itemId) != null) {
+            invalidations.increment();
+        }
+    }
+}
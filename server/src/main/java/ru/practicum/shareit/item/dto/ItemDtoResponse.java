@@ -20,7 +20,8 @@ public class ItemDtoResponse {
     private Boolean available;//статус о том, доступна или нет вещь для аренды
     private BookingDtoShort lastBooking;
     private BookingDtoShort nextBooking;
-    private List<CommentDtoResponse> comments;
+    private List<CommentDtoResponse> comments;//последние отзывы, остальные доступны постранично
+    private int commentCount;//общее количество отзывов
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private Long requestId;
 }
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemImportError {
+    private long line;// номер строки в загружаемом файле, начиная с 1
+    private String message;// причина, по которой вещь не добавлена
+}
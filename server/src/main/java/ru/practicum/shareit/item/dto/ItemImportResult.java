@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemImportResult {
+    private int imported;// количество добавленных вещей
+    private int failed;// количество отклонённых строк
+    private List<ItemImportError> errors;// ошибки по строкам, не больше MAX_REPORTED_ERRORS
+}
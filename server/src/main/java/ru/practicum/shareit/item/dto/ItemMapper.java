@@ -22,6 +22,7 @@ public class ItemMapper {
                 .available(item.isAvailable())
                 .requestId(request == null ? null : request.getId())
                 .comments(Collections.emptyList())
+                .commentCount(item.getCommentCount())
                 .build();
     }
 
@@ -54,6 +55,7 @@ public class ItemMapper {
                 .lastBooking(last)
                 .nextBooking(next)
                 .comments(commentDto)
+                .commentCount(item.getCommentCount())
                 .build();
     }
 }
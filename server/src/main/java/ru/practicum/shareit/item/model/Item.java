@@ -3,8 +3,10 @@ package ru.practicum.shareit.item.model;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -16,8 +18,10 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
+import static ru.practicum.shareit.util.Constants.ID_ALLOCATION_SIZE;
 
 @Data
 @Builder(toBuilder = true)
@@ -27,7 +31,8 @@ import javax.persistence.Table;
 @Table(name = "items")
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private long id;//уникальный идентификатор
     @Column
@@ -47,4 +52,20 @@ public class Item {
     @ToString.Exclude
     private ItemRequest request;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_booking_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Booking lastBooking;//последнее подтверждённое бронирование, начавшееся до текущего момента
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "next_booking_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Booking nextBooking;//ближайшее следующее подтверждённое бронирование
+
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    @EqualsAndHashCode.Exclude
+    private int commentCount;//количество отзывов
+
 }
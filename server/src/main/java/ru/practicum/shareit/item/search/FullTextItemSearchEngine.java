@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search by word prefixes of name and description, all words of the text must match.
+ * On PostgreSQL uses the items.search_vector column with GIN index (schema-postgres.sql),
+ * on H2 the normalized items.search_text column (schema-h2.sql)
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "fulltext")
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+    private static final String POSTGRES = "postgres";
+
+    private final EntityManager entityManager;
+    private final boolean isPostgres;
+
+    public FullTextItemSearchEngine(EntityManager entityManager,
+                                    @Value("${spring.sql.init.platform}") String platform) {
+        this.entityManager = entityManager;
+        this.isPostgres = POSTGRES.equals(platform);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> search(String text, PageRequest page) {
+        final List<String> tokens = SearchTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final Query query = isPostgres ? postgresQuery(tokens) : h2Query(tokens);
+        if (page != null) {
+            query.setFirstResult((int) page.getOffset());
+            query.setMaxResults(page.getPageSize());
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public boolean matches(String text, String name, String description) {
+        return SearchTokenizer.matchesAllPrefixes(text, name, description);
+    }
+
+    private Query postgresQuery(List<String> tokens) {
+        return entityManager.createNativeQuery("select i.* from items i " +
+                        "where i.available = true and i.search_vector @@ to_tsquery('simple', :query) " +
+                        "order by i.id", Item.class)
+                .setParameter("query", tokens.stream()
+                        .map(token -> token + ":*")
+                        .collect(Collectors.joining(" & ")));
+    }
+
+    private Query h2Query(List<String> tokens) {
+        final StringBuilder sql = new StringBuilder("select i.* from items i where i.available = true");
+        for (int i = 0; i < tokens.size(); i++) {
+            sql.append(" and i.search_text like :token").append(i);
+        }
+        sql.append(" order by i.id");
+        final Query query = entityManager.createNativeQuery(sql.toString(), Item.class);
+        for (int i = 0; i < tokens.size(); i++) {
+            query.setParameter("token" + i, "% " + tokens.get(i) + "%");
+        }
+        return query;
+    }
+}
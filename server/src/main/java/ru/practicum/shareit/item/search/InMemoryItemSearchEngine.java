@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemDeletedEvent;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Base for search engines with an in-memory index.
+ * The index is built from the database on startup and updated on {@link ItemChangedEvent}
+ * and {@link ItemDeletedEvent} after commit, only the found page of items is loaded from the database
+ */
+@Slf4j
+public abstract class InMemoryItemSearchEngine implements ItemSearchEngine {
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ItemRepository itemRepository;
+
+    protected InMemoryItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    /**
+     * Build the index from all items in the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            final int count = ItemLoader.forEach(itemRepository,
+                    item -> add(item.getId(), item.getName(), item.getDescription(), item.isAvailable()));
+            log.info("{}: index built for {} items", getClass().getSimpleName(), count);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply committed item change to the index, before {@link ItemSearchCache} drops stale results
+     * @param event item change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onItemChanged(ItemChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!event.isCreated()) {
+                remove(event.getItemId(), event.getPreviousName(), event.getPreviousDescription());
+            }
+            add(event.getItemId(), event.getName(), event.getDescription(), event.isAvailable());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove item deleted with its owner from the index, before {@link ItemSearchCache} drops stale results
+     * @param event deleted item
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onItemDeleted(ItemDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getItemId(), event.getName(), event.getDescription());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, PageRequest page) {
+        final List<Long> ids = findIds(text, page);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Find ids of available items for the text
+     * @param text search text
+     * @param page requested page, if null all found ids are returned
+     * @return ids in result order
+     */
+    abstract List<Long> findIds(String text, PageRequest page);
+
+    /**
+     * Drop all indexed items, called under write lock
+     */
+    protected abstract void clear();
+
+    /**
+     * Index item, called under write lock
+     */
+    protected abstract void add(long itemId, String name, String description, boolean available);
+
+    /**
+     * Remove previously indexed text of the item, called under write lock
+     */
+    protected abstract void remove(long itemId, String name, String description);
+}
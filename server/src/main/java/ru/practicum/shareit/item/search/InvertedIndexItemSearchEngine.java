@@ -0,0 +1,158 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Word prefix search served from an in-memory inverted index, same matching rules as {@link FullTextItemSearchEngine}.
+ * Ids of every word are kept as a {@link PostingList}
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "inverted")
+public class InvertedIndexItemSearchEngine extends InMemoryItemSearchEngine {
+    private static final long[] NO_IDS = new long[0];
+
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final Set<Long> unavailableIds = new HashSet<>();
+
+    public InvertedIndexItemSearchEngine(ItemRepository itemRepository) {
+        super(itemRepository);
+    }
+
+    @Override
+    protected void clear() {
+        postings.clear();
+        unavailableIds.clear();
+    }
+
+    @Override
+    protected void add(long itemId, String name, String description, boolean available) {
+        for (String token : tokensOf(name, description)) {
+            postings.computeIfAbsent(token, key -> new PostingList()).add(itemId);
+        }
+        if (available) {
+            unavailableIds.remove(itemId);
+        } else {
+            unavailableIds.add(itemId);
+        }
+    }
+
+    @Override
+    protected void remove(long itemId, String name, String description) {
+        for (String token : tokensOf(name, description)) {
+            final PostingList list = postings.get(token);
+            if (list != null) {
+                list.remove(itemId);
+                if (list.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        unavailableIds.remove(itemId);
+    }
+
+    /**
+     * Find ids of available items matching all words of the text by prefix
+     * @param text search text
+     * @param page requested page, if null all found ids are returned
+     * @return ids in ascending order
+     */
+    @Override
+    List<Long> findIds(String text, PageRequest page) {
+        final Set<String> tokens = new LinkedHashSet<>(SearchTokenizer.tokenize(text));
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            long[] found = null;
+            for (String token : tokens) {
+                final long[] matched = matchPrefix(token);
+                found = (found == null) ? matched : intersect(found, matched);
+                if (found.length == 0) {
+                    return new ArrayList<>();
+                }
+            }
+            final long offset = (page == null) ? 0 : page.getOffset();
+            final long limit = (page == null) ? Long.MAX_VALUE : page.getPageSize();
+            return Arrays.stream(found)
+                    .filter(id -> !unavailableIds.contains(id))
+                    .skip(offset)
+                    .limit(limit)
+                    .boxed()
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean matches(String text, String name, String description) {
+        return SearchTokenizer.matchesAllPrefixes(text, name, description);
+    }
+
+    private long[] matchPrefix(String prefix) {
+        final Collection<PostingList> lists = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        if (lists.isEmpty()) {
+            return NO_IDS;
+        }
+        if (lists.size() == 1) {
+            return lists.iterator().next().toArray();
+        }
+        return lists.stream()
+                .flatMapToLong(list -> Arrays.stream(list.toArray()))
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    private static long[] intersect(long[] first, long[] second) {
+        final long[] result = new long[Math.min(first.length, second.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[size++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static Set<String> tokensOf(String name, String description) {
+        final Set<String> tokens = new HashSet<>(SearchTokenizer.tokenize(name));
+        tokens.addAll(SearchTokenizer.tokenize(description));
+        return tokens;
+    }
+
+    /**
+     * @return number of distinct words in the index
+     */
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
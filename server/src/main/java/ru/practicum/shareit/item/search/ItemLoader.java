@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ACS;
+
+/**
+ * Reads all items in id order in chunks, used to build in-memory indexes
+ */
+final class ItemLoader {
+    private static final int CHUNK_SIZE = 1000;
+
+    private ItemLoader() {
+    }
+
+    /**
+     * @param itemRepository repository
+     * @param consumer called for every item
+     * @return number of items
+     */
+    static int forEach(ItemRepository itemRepository, Consumer<Item> consumer) {
+        long lastId = 0;
+        int count = 0;
+        List<Item> chunk;
+        do {
+            chunk = itemRepository.findAllByIdGreaterThan(lastId, PageRequest.of(0, CHUNK_SIZE, SORT_BY_ID_ACS));
+            for (Item item : chunk) {
+                consumer.accept(item);
+                lastId = item.getId();
+            }
+            count += chunk.size();
+        } while (chunk.size() == CHUNK_SIZE);
+        return count;
+    }
+}
@@ -0,0 +1,248 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of search results keyed by lower case text and page.
+ * After a committed item change the entries whose text matches the item before or after the change are dropped,
+ * a new comment drops the entries containing the item and user deletion drops all entries.
+ * Hits, misses, evictions, invalidations and size are published as cache.* meters with tag cache=itemSearch
+ */
+@Slf4j
+@Component
+public class ItemSearchCache implements MeterBinder {
+    static final String CACHE_NAME = "itemSearch";
+
+    private final ItemSearchEngine searchEngine;
+    private final int maxSize;
+    private final Map<Key, List<ItemDtoResponse>> entries;
+    private long version;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ItemSearchCache(ItemSearchEngine searchEngine,
+                           @Value("${shareit.item.search.cache.max-size}") int maxSize) {
+        this.searchEngine = searchEngine;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<ItemDtoResponse>> eldest) {
+                if (size() > ItemSearchCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get cached result or load and cache it.
+     * The result is not cached if an item was changed while it was loading
+     * @param text search text
+     * @param page requested page, null for all found items
+     * @param loader search to run on a miss
+     * @return unmodifiable list of found items, shared between callers
+     */
+    public List<ItemDtoResponse> get(String text, @Nullable PageRequest page,
+                                     Supplier<List<ItemDtoResponse>> loader) {
+        if (maxSize <= 0) {
+            return loader.get();
+        }
+        final Key key = Key.of(text, page);
+        final long loadVersion;
+        synchronized (this) {
+            final List<ItemDtoResponse> cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            loadVersion = version;
+        }
+        misses.increment();
+        final List<ItemDtoResponse> result = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+        synchronized (this) {
+            if (version == loadVersion) {
+                entries.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drop results that may change after the committed item change.
+     * Runs after the in-memory search indexes are updated
+     * @param event item change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (!event.isCreated()
+                && Objects.equals(event.getPreviousName(), event.getName())
+                && Objects.equals(event.getPreviousDescription(), event.getDescription())
+                && event.getPreviousAvailable() == event.isAvailable()) {
+            return;
+        }
+        final Map<String, Boolean> matchedTexts = new HashMap<>();
+        int removed = 0;
+        synchronized (this) {
+            version++;
+            final Iterator<Key> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                final Key key = keys.next();
+                if (matchedTexts.computeIfAbsent(key.text, text -> matches(text, event))) {
+                    keys.remove();
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            invalidations.add(removed);
+            log.debug("Item id={} changed, {} cached search results dropped", event.getItemId(), removed);
+        }
+    }
+
+    /**
+     * Drop results containing the item, e.g. after a new comment changed its comment count.
+     * If called inside a transaction, the results are dropped after commit
+     * @param itemId
+     */
+    public void evictItem(long itemId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeContaining(itemId);
+                }
+            });
+        } else {
+            removeContaining(itemId);
+        }
+    }
+
+    /**
+     * Drop all results after commit of user deletion: the user's items are deleted
+     * and comment counts of items the user commented are decreased
+     * @param event deleted user
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public synchronized void onUserDeleted(UserDeletedEvent event) {
+        invalidations.add(entries.size());
+        clear();
+    }
+
+    /**
+     * Drop all cached results
+     */
+    public synchronized void clear() {
+        version++;
+        entries.clear();
+    }
+
+    /**
+     * @return number of cached results
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .description("Search results returned from the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .description("Searches run against the search engine")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME)
+                .description("Results evicted because of the size limit")
+                .register(registry);
+        FunctionCounter.builder("cache.invalidations", invalidations, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME)
+                .description("Results dropped because of item changes")
+                .register(registry);
+        Gauge.builder("cache.size", this, ItemSearchCache::size)
+                .tags("cache", CACHE_NAME)
+                .description("Number of cached results")
+                .register(registry);
+    }
+
+    long hitCount() {
+        return hits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    private synchronized void removeContaining(long itemId) {
+        version++;
+        final int sizeBefore = entries.size();
+        entries.values().removeIf(result -> result.stream().anyMatch(item -> item.getId() == itemId));
+        invalidations.add(sizeBefore - entries.size());
+    }
+
+    private boolean matches(String text, ItemChangedEvent event) {
+        return searchEngine.matches(text, event.getName(), event.getDescription())
+                || (!event.isCreated()
+                && searchEngine.matches(text, event.getPreviousName(), event.getPreviousDescription()));
+    }
+
+    @EqualsAndHashCode
+    private static final class Key {
+        private final String text;
+        private final long offset;
+        private final int size;
+
+        private Key(String text, long offset, int size) {
+            this.text = text;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        private static Key of(String text, PageRequest page) {
+            return (page == null)
+                    ? new Key(text.toLowerCase(Locale.ROOT), 0, -1)
+                    : new Key(text.toLowerCase(Locale.ROOT), page.getOffset(), page.getPageSize());
+        }
+    }
+}
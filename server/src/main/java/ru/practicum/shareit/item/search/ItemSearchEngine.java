@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import org.jetbrains.annotations.Nullable;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Search of available items by text in name or description.
+ * Implementation is selected with the property shareit.item.search.engine
+ */
+public interface ItemSearchEngine {
+    /**
+     * Find available items matching the text
+     * @param text search text
+     * @param page requested page, if null all found items are returned
+     * @return items ordered by id
+     */
+    List<Item> search(String text, @Nullable PageRequest page);
+
+    /**
+     * Check whether an item with the name and description is found by the text, availability is not checked
+     * @param text search text
+     * @param name item name
+     * @param description item description
+     * @return true if the item matches the text
+     */
+    boolean matches(String text, @Nullable String name, @Nullable String description);
+}
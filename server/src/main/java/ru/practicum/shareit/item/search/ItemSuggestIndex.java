@@ -0,0 +1,196 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemDeletedEvent;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Trie of words from names of available items for autocomplete.
+ * Every node keeps its top completions ordered by the number of items with the word,
+ * so a lookup is a walk along the prefix
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSuggestIndex {
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final Comparator<Node> BY_COUNT = Comparator.comparingInt((Node node) -> node.count).reversed()
+            .thenComparing(node -> node.word);
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node(null);
+
+    /**
+     * Build the trie from all available items in the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            root = new Node(null);
+            final Map<String, Integer> counts = new HashMap<>();
+            final int itemCount = ItemLoader.forEach(itemRepository, item -> {
+                if (item.isAvailable()) {
+                    wordsOf(item.getName()).forEach(word -> counts.merge(word, 1, Integer::sum));
+                }
+            });
+            counts.forEach(this::insert);
+            recalculateTop(root);
+            log.info("Item suggest index built: {} items, {} words", itemCount, counts.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply committed item change to the trie
+     * @param event item change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        final Set<String> removed = Boolean.TRUE.equals(event.getPreviousAvailable())
+                ? wordsOf(event.getPreviousName()) : new HashSet<>();
+        final Set<String> added = event.isAvailable() ? wordsOf(event.getName()) : new HashSet<>();
+        lock.writeLock().lock();
+        try {
+            for (String word : removed) {
+                if (!added.contains(word)) {
+                    change(word, -1);
+                }
+            }
+            for (String word : added) {
+                if (!removed.contains(word)) {
+                    change(word, 1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove words of the committed item deleted with its owner from the trie
+     * @param event deleted item
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemDeleted(ItemDeletedEvent event) {
+        if (!event.isAvailable()) {
+            return;
+        }
+        final Set<String> removed = wordsOf(event.getName());
+        lock.writeLock().lock();
+        try {
+            removed.forEach(word -> change(word, -1));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the most frequent words starting with the last word of the prefix
+     * @param prefix typed text
+     * @param size max number of words, not greater than {@link #MAX_SUGGESTIONS}
+     * @return words
+     */
+    public List<String> suggest(String prefix, int size) {
+        final List<String> words = SearchTokenizer.tokenize(prefix);
+        if (words.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final String word = words.get(words.size() - 1);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < word.length() && node != null; i++) {
+                node = node.children.get(word.charAt(i));
+            }
+            if (node == null) {
+                return new ArrayList<>();
+            }
+            return node.top.stream()
+                    .limit(size)
+                    .map(top -> top.word)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(String word, int count) {
+        nodeFor(word).count = count;
+    }
+
+    private void change(String word, int delta) {
+        final Node node = nodeFor(word);
+        node.count = Math.max(0, node.count + delta);
+        for (Node current = node; current != null; current = current.parent) {
+            current.top = collectTop(current);
+        }
+    }
+
+    private Node nodeFor(String word) {
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            final Node parent = node;
+            node = node.children.computeIfAbsent(word.charAt(i), key -> new Node(parent));
+        }
+        node.word = word;
+        return node;
+    }
+
+    private void recalculateTop(Node node) {
+        for (Node child : node.children.values()) {
+            recalculateTop(child);
+        }
+        node.top = collectTop(node);
+    }
+
+    /**
+     * Merge own word and top words of the children, children tops must be calculated
+     */
+    private static List<Node> collectTop(Node node) {
+        final List<Node> candidates = new ArrayList<>();
+        if (node.count > 0) {
+            candidates.add(node);
+        }
+        for (Node child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        candidates.sort(BY_COUNT);
+        return new ArrayList<>(candidates.subList(0, Math.min(MAX_SUGGESTIONS, candidates.size())));
+    }
+
+    private static Set<String> wordsOf(String name) {
+        return new HashSet<>(SearchTokenizer.tokenize(name));
+    }
+
+    private static final class Node {
+        private final Node parent;
+        private final Map<Character, Node> children = new HashMap<>();
+        private String word;
+        private int count;
+        private List<Node> top = new ArrayList<>();
+
+        private Node(Node parent) {
+            this.parent = parent;
+        }
+    }
+}
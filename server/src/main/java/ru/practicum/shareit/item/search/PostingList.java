@@ -0,0 +1,110 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of item ids stored as delta-encoded varints in a byte array
+ */
+final class PostingList {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int size;
+    private long lastId;
+
+    /**
+     * Add id, appending is O(1) when ids grow, otherwise the list is re-encoded
+     * @param id item id
+     */
+    void add(long id) {
+        if (size == 0 || id > lastId) {
+            append(id);
+            return;
+        }
+        final long[] ids = toArray();
+        final int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return;
+        }
+        final int insertAt = -position - 1;
+        final long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, insertAt);
+        result[insertAt] = id;
+        System.arraycopy(ids, insertAt, result, insertAt + 1, ids.length - insertAt);
+        encode(result);
+    }
+
+    /**
+     * @param id item id
+     */
+    void remove(long id) {
+        final long[] ids = toArray();
+        final int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return;
+        }
+        final long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        System.arraycopy(ids, position + 1, result, position, ids.length - position - 1);
+        encode(result);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return ids in ascending order
+     */
+    long[] toArray() {
+        final long[] ids = new long[size];
+        long current = 0;
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            current += delta;
+            ids[i] = current;
+        }
+        return ids;
+    }
+
+    private void encode(long[] ids) {
+        data = new byte[Math.max(INITIAL_CAPACITY, ids.length * 2)];
+        length = 0;
+        size = 0;
+        lastId = 0;
+        for (long id : ids) {
+            append(id);
+        }
+    }
+
+    private void append(long id) {
+        long delta = id - lastId;
+        ensureCapacity(length + 10);
+        while ((delta & ~0x7FL) != 0) {
+            data[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[length++] = (byte) delta;
+        lastId = id;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+        }
+    }
+}
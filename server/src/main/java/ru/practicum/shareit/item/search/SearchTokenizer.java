@@ -0,0 +1,52 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into lower case words of letters and digits
+ */
+public final class SearchTokenizer {
+    private SearchTokenizer() {
+    }
+
+    /**
+     * @param text source text
+     * @return words in the order they appear in the text
+     */
+    public static List<String> tokenize(String text) {
+        final List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            final boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * @param text search text
+     * @param sources texts to look words in
+     * @return true if every word of the text is a prefix of some word of the sources
+     */
+    public static boolean matchesAllPrefixes(String text, String... sources) {
+        final List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return false;
+        }
+        final List<String> words = new ArrayList<>();
+        for (String source : sources) {
+            words.addAll(tokenize(source));
+        }
+        return tokens.stream().allMatch(token -> words.stream().anyMatch(word -> word.startsWith(token)));
+    }
+}
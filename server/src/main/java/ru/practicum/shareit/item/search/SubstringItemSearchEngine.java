@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Locale;
+
+import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ACS;
+
+/**
+ * Case-insensitive substring search in name or description, default engine
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "substring", matchIfMissing = true)
+public class SubstringItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, PageRequest page) {
+        return (page == null)
+                ? itemRepository.findAllByNameOrDescriptionIgnoreCase(text, SORT_BY_ID_ACS)
+                : itemRepository.findAllByNameOrDescriptionIgnoreCase(text, page).getContent();
+    }
+
+    @Override
+    public boolean matches(String text, String name, String description) {
+        final String substring = text.toUpperCase(Locale.ROOT);
+        return (name != null && name.toUpperCase(Locale.ROOT).contains(substring))
+                || (description != null && description.toUpperCase(Locale.ROOT).contains(substring));
+    }
+}
@@ -0,0 +1,225 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Typo-tolerant search over an in-memory trigram index.
+ * An item matches when it contains at least min-match share of the text trigrams,
+ * results are ordered by BM25F score with name weighted higher than description
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "trigram")
+public class TrigramItemSearchEngine extends InMemoryItemSearchEngine {
+    private static final double NAME_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Comparator<ScoredId> BY_RELEVANCE = Comparator.comparingDouble(ScoredId::getScore).reversed()
+            .thenComparingLong(ScoredId::getId);
+
+    private final double minMatch;
+    private final Map<String, Map<Long, Frequency>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalNameLength;
+    private long totalDescriptionLength;
+
+    public TrigramItemSearchEngine(ItemRepository itemRepository,
+                                   @Value("${shareit.item.search.trigram.min-match}") double minMatch) {
+        super(itemRepository);
+        this.minMatch = minMatch;
+    }
+
+    @Override
+    protected void clear() {
+        postings.clear();
+        documents.clear();
+        totalNameLength = 0;
+        totalDescriptionLength = 0;
+    }
+
+    @Override
+    protected void add(long itemId, String name, String description, boolean available) {
+        final Map<String, Integer> nameTrigrams = countTrigrams(name);
+        final Map<String, Integer> descriptionTrigrams = countTrigrams(description);
+        nameTrigrams.forEach((trigram, count) ->
+                postings.computeIfAbsent(trigram, key -> new HashMap<>())
+                        .computeIfAbsent(itemId, key -> new Frequency()).name += count);
+        descriptionTrigrams.forEach((trigram, count) ->
+                postings.computeIfAbsent(trigram, key -> new HashMap<>())
+                        .computeIfAbsent(itemId, key -> new Frequency()).description += count);
+
+        final Document document = new Document(length(nameTrigrams), length(descriptionTrigrams), available);
+        documents.put(itemId, document);
+        totalNameLength += document.nameLength;
+        totalDescriptionLength += document.descriptionLength;
+    }
+
+    @Override
+    protected void remove(long itemId, String name, String description) {
+        final Set<String> trigrams = new HashSet<>(countTrigrams(name).keySet());
+        trigrams.addAll(countTrigrams(description).keySet());
+        for (String trigram : trigrams) {
+            final Map<Long, Frequency> list = postings.get(trigram);
+            if (list != null) {
+                list.remove(itemId);
+                if (list.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+        final Document document = documents.remove(itemId);
+        if (document != null) {
+            totalNameLength -= document.nameLength;
+            totalDescriptionLength -= document.descriptionLength;
+        }
+    }
+
+    /**
+     * Find ids of available items similar to the text
+     * @param text search text
+     * @param page requested page, if null all found ids are returned
+     * @return ids ordered by relevance
+     */
+    @Override
+    List<Long> findIds(String text, PageRequest page) {
+        final Set<String> trigrams = countTrigrams(text).keySet();
+        if (trigrams.isEmpty()) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            final Map<Long, ScoredId> candidates = score(trigrams);
+            final int required = (int) Math.ceil(trigrams.size() * minMatch);
+            final long offset = (page == null) ? 0 : page.getOffset();
+            final long limit = (page == null) ? Long.MAX_VALUE : offset + page.getPageSize();
+
+            final PriorityQueue<ScoredId> top = new PriorityQueue<>(BY_RELEVANCE.reversed());
+            for (ScoredId candidate : candidates.values()) {
+                if (candidate.matched < required) {
+                    continue;
+                }
+                top.add(candidate);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            final List<ScoredId> ordered = new ArrayList<>(top);
+            ordered.sort(BY_RELEVANCE);
+            final List<Long> ids = new ArrayList<>();
+            for (int i = (int) Math.min(offset, ordered.size()); i < ordered.size(); i++) {
+                ids.add(ordered.get(i).id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean matches(String text, String name, String description) {
+        final Set<String> trigrams = countTrigrams(text).keySet();
+        if (trigrams.isEmpty()) {
+            return false;
+        }
+        final Set<String> itemTrigrams = new HashSet<>(countTrigrams(name).keySet());
+        itemTrigrams.addAll(countTrigrams(description).keySet());
+        final long matched = trigrams.stream().filter(itemTrigrams::contains).count();
+        return matched >= (int) Math.ceil(trigrams.size() * minMatch);
+    }
+
+    private Map<Long, ScoredId> score(Set<String> trigrams) {
+        final int documentCount = documents.size();
+        final double avgNameLength = Math.max(1.0, (double) totalNameLength / Math.max(1, documentCount));
+        final double avgDescriptionLength = Math.max(1.0, (double) totalDescriptionLength / Math.max(1, documentCount));
+
+        final Map<Long, ScoredId> candidates = new HashMap<>();
+        for (String trigram : trigrams) {
+            final Map<Long, Frequency> list = postings.get(trigram);
+            if (list == null) {
+                continue;
+            }
+            final double idf = Math.log(1 + (documentCount - list.size() + 0.5) / (list.size() + 0.5));
+            for (Map.Entry<Long, Frequency> entry : list.entrySet()) {
+                final Document document = documents.get(entry.getKey());
+                if (document == null || !document.available) {
+                    continue;
+                }
+                final Frequency frequency = entry.getValue();
+                final double tf = NAME_WEIGHT * frequency.name / (1 - B + B * document.nameLength / avgNameLength)
+                        + DESCRIPTION_WEIGHT * frequency.description
+                        / (1 - B + B * document.descriptionLength / avgDescriptionLength);
+                final ScoredId candidate = candidates.computeIfAbsent(entry.getKey(), ScoredId::new);
+                candidate.score += idf * tf * (K1 + 1) / (tf + K1);
+                candidate.matched++;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Trigrams of every word padded like in pg_trgm: two spaces before the word and one after
+     */
+    static Map<String, Integer> countTrigrams(String text) {
+        final Map<String, Integer> trigrams = new HashMap<>();
+        for (String token : SearchTokenizer.tokenize(text)) {
+            final String padded = "  " + token + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.merge(padded.substring(i, i + 3), 1, Integer::sum);
+            }
+        }
+        return trigrams;
+    }
+
+    private static int length(Map<String, Integer> trigrams) {
+        return trigrams.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private static final class Frequency {
+        private int name;
+        private int description;
+    }
+
+    private static final class Document {
+        private final int nameLength;
+        private final int descriptionLength;
+        private final boolean available;
+
+        private Document(int nameLength, int descriptionLength, boolean available) {
+            this.nameLength = nameLength;
+            this.descriptionLength = descriptionLength;
+            this.available = available;
+        }
+    }
+
+    private static final class ScoredId {
+        private final long id;
+        private double score;
+        private int matched;
+
+        private ScoredId(long id) {
+            this.id = id;
+        }
+
+        private long getId() {
+            return id;
+        }
+
+        private double getScore() {
+            return score;
+        }
+    }
+}
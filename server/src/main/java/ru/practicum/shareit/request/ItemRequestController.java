@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
 
 import java.util.List;
 
@@ -74,4 +75,15 @@ public class ItemRequestController {
         final PageRequest page = PageRequest.of(from / size, size, SORT_BY_REQUEST_CREATE_DATE_DESC);
         return service.getAllFromOtherUsers(userId, page);
     }
+
+    @GetMapping("/matches")
+    public List<RequestMatchDto> getMatches(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @RequestParam(name = "size", defaultValue = "20") Integer size
+    ) {
+        log.debug(X_SHARER_USER_ID, userId);
+        log.debug("Request received GET '/requests/matches?from={}&size={}", from, size);
+        return service.getMatches(userId, PageRequest.of(from / size, size));
+    }
 }
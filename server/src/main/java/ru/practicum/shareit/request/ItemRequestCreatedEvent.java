@@ -0,0 +1,12 @@
+package ru.practicum.shareit.request;
+
+import lombok.Value;
+import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
+
+/**
+ * Published by {@link ItemRequestService} when a request is created
+ */
+@Value
+public class ItemRequestCreatedEvent {
+    ItemRequestDtoResponse request;
+}
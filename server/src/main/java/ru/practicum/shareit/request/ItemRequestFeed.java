@@ -0,0 +1,175 @@
+package ru.practicum.shareit.request;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.dto.ItemDtoShortResponse;
+import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+/**
+ * The latest requests of all users with their items, newest first, shared by all readers of /requests/all.
+ * Loaded on first use, then kept up to date by request and item events, so a page is filtered in memory
+ * instead of being queried per user. Pages that reach past the kept requests are left to the database
+ */
+@Slf4j
+@Component
+public class ItemRequestFeed {
+    private static final Comparator<ItemRequestDtoResponse> NEWEST_FIRST =
+            Comparator.comparing(ItemRequestDtoResponse::getCreated)
+                    .thenComparing(ItemRequestDtoResponse::getId)
+                    .reversed();
+
+    private final int capacity;
+    private List<ItemRequestDtoResponse> entries;// null, пока лента не загружена
+    private boolean complete;// в ленте все запросы из базы
+    private long version;
+
+    public ItemRequestFeed(@Value("${shareit.request.feed.size}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Get a page of requests created by other users, loading the feed on first use.
+     * Requests are ordered by creation time, newest first
+     * @param userId user reading the feed, the user's own requests are skipped
+     * @param page requested page, null for all requests
+     * @param loader loads at most the given number of the latest requests with their items
+     * @return requests or empty if the page can not be served from the feed
+     */
+    public Optional<List<ItemRequestDtoResponse>> find(long userId, @Nullable PageRequest page,
+                                                       IntFunction<List<ItemRequestDtoResponse>> loader) {
+        if (capacity <= 0) {
+            return Optional.empty();
+        }
+        final long loadVersion;
+        synchronized (this) {
+            if (entries != null) {
+                return select(userId, page);
+            }
+            loadVersion = version;
+        }
+        final List<ItemRequestDtoResponse> loaded = loader.apply(capacity + 1);
+        synchronized (this) {
+            if (entries == null && version == loadVersion) {
+                complete = loaded.size() <= capacity;
+                entries = new ArrayList<>(loaded.subList(0, Math.min(loaded.size(), capacity)));
+                entries.sort(NEWEST_FIRST);
+                log.debug("Request feed loaded: {} requests, complete={}", entries.size(), complete);
+            }
+            return (entries == null) ? Optional.empty() : select(userId, page);
+        }
+    }
+
+    /**
+     * Put a committed new request at its place in the feed.
+     * A feed loaded between the commit and the event already has the request, it is kept as loaded
+     * @param event new request
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRequestCreated(ItemRequestCreatedEvent event) {
+        version++;
+        if (entries == null) {
+            return;
+        }
+        final long requestId = event.getRequest().getId();
+        if (entries.stream().anyMatch(existing -> existing.getId() == requestId)) {
+            return;
+        }
+        final ItemRequestDtoResponse request = event.getRequest().toBuilder()
+                .items(List.copyOf(event.getRequest().getItems()))
+                .build();
+        int index = 0;
+        while (index < entries.size() && NEWEST_FIRST.compare(entries.get(index), request) < 0) {
+            index++;
+        }
+        entries.add(index, request);
+        if (entries.size() > capacity) {
+            entries.remove(entries.size() - 1);
+            complete = false;
+        }
+    }
+
+    /**
+     * Add or update the item summary of a request kept in the feed
+     * @param event committed item change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onItemChanged(ItemChangedEvent event) {
+        if (event.getRequestId() == null) {
+            return;
+        }
+        version++;
+        if (entries == null) {
+            return;
+        }
+        final ItemDtoShortResponse item = ItemDtoShortResponse.builder()
+                .id(event.getItemId())
+                .name(event.getName())
+                .description(event.getDescription())
+                .available(event.isAvailable())
+                .requestId(event.getRequestId())
+                .build();
+        for (int i = 0; i < entries.size(); i++) {
+            final ItemRequestDtoResponse request = entries.get(i);
+            if (request.getId() == event.getRequestId().longValue()) {
+                final List<ItemDtoShortResponse> items = new ArrayList<>(request.getItems());
+                items.removeIf(existing -> existing.getId() == item.getId());
+                items.add(item);
+                entries.set(i, request.toBuilder().items(List.copyOf(items)).build());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Requests and items of the deleted user are gone, the feed is loaded again on next use
+     * @param event deleted user
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserDeleted(UserDeletedEvent event) {
+        version++;
+        entries = null;
+    }
+
+    /**
+     * @return number of requests kept in the feed
+     */
+    public synchronized int size() {
+        return (entries == null) ? 0 : entries.size();
+    }
+
+    private Optional<List<ItemRequestDtoResponse>> select(long userId, @Nullable PageRequest page) {
+        final long offset = (page == null) ? 0 : page.getOffset();
+        final int limit = (page == null) ? Integer.MAX_VALUE : page.getPageSize();
+        final List<ItemRequestDtoResponse> result = new ArrayList<>();
+        long skipped = 0;
+        for (ItemRequestDtoResponse request : entries) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (request.getRequester() == userId) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            result.add(request);
+        }
+        if (result.size() < limit && !complete) {
+            return Optional.empty();
+        }
+        return Optional.of(result);
+    }
+}
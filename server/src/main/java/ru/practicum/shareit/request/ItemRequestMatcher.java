@@ -0,0 +1,172 @@
+package ru.practicum.shareit.request;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.SearchTokenizer;
+import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.RequestMatch;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ACS;
+
+/**
+ * Matches new requests against available items off the request thread.
+ * Committed requests are queued and matched in batches by a scheduled task: every word of the descriptions
+ * is looked up once per batch with the configured {@link ItemSearchEngine}, items are ranked by the number
+ * of matched words and the best ones are stored for their owners.
+ * If a batch fails, for example because an item was deleted meanwhile, its requests are queued once more
+ */
+@Slf4j
+@Component
+public class ItemRequestMatcher {
+    static final int MIN_WORD_LENGTH = 3;
+    static final int MAX_WORDS = 10;
+    static final int CANDIDATES_PER_WORD = 200;
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    private final ItemSearchEngine searchEngine;
+    private final ItemRequestRepository requestRepository;
+    private final RequestMatchRepository matchRepository;
+    private final int batchSize;
+    private final int maxPerRequest;
+    private final BlockingQueue<ItemRequestDtoResponse> pending = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final Set<Long> retried = ConcurrentHashMap.newKeySet();// запросы из неудавшихся пакетов
+
+    public ItemRequestMatcher(ItemSearchEngine searchEngine,
+                              ItemRequestRepository requestRepository,
+                              RequestMatchRepository matchRepository,
+                              @Value("${shareit.request.matching.batch-size}") int batchSize,
+                              @Value("${shareit.request.matching.max-per-request}") int maxPerRequest) {
+        this.searchEngine = searchEngine;
+        this.requestRepository = requestRepository;
+        this.matchRepository = matchRepository;
+        this.batchSize = batchSize;
+        this.maxPerRequest = maxPerRequest;
+    }
+
+    /**
+     * Queue a committed request for matching
+     * @param event new request
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestCreated(ItemRequestCreatedEvent event) {
+        if (!pending.offer(event.getRequest())) {
+            log.warn("Request matching queue is full, request id={} is not matched", event.getRequest().getId());
+        }
+    }
+
+    /**
+     * Match the next batch of queued requests
+     * @return number of stored matches
+     */
+    @Scheduled(fixedDelayString = "${shareit.request.matching.delay}")
+    @Transactional
+    public int matchPending() {
+        final List<ItemRequestDtoResponse> batch = new ArrayList<>();
+        pending.drainTo(batch, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            final int matched = match(batch);
+            batch.forEach(request -> retried.remove(request.getId()));
+            return matched;
+        } catch (RuntimeException e) {
+            requeue(batch, e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return number of requests waiting for matching
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private int match(List<ItemRequestDtoResponse> batch) {
+        final Set<Long> existingIds = requestRepository.findExistingIds(batch.stream()
+                .map(ItemRequestDtoResponse::getId)
+                .collect(Collectors.toSet()));
+        final Map<String, List<Item>> candidatesByWord = new HashMap<>();
+        final LocalDateTime currentTime = LocalDateTime.now();
+        final List<RequestMatch> matches = new ArrayList<>();
+        for (ItemRequestDtoResponse request : batch) {
+            if (!existingIds.contains(request.getId())) {
+                continue;
+            }
+            final Map<Long, Integer> scores = new HashMap<>();
+            final Map<Long, Item> items = new HashMap<>();
+            for (String word : wordsOf(request.getDescription())) {
+                final List<Item> candidates = candidatesByWord.computeIfAbsent(word, key ->
+                        searchEngine.search(key, PageRequest.of(0, CANDIDATES_PER_WORD, SORT_BY_ID_ACS)));
+                for (Item item : candidates) {
+                    if (item.getOwner().getId() != request.getRequester()) {
+                        scores.merge(item.getId(), 1, Integer::sum);
+                        items.putIfAbsent(item.getId(), item);
+                    }
+                }
+            }
+            scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(maxPerRequest)
+                    .map(entry -> items.get(entry.getKey()))
+                    .forEach(item -> matches.add(RequestMatch.builder()
+                            .request(ItemRequest.builder().id(request.getId()).build())
+                            .item(item)
+                            .owner(item.getOwner())
+                            .score(scores.get(item.getId()))
+                            .created(currentTime)
+                            .build()));
+        }
+        matchRepository.saveAll(matches);
+        matchRepository.flush();
+        log.debug("Matched {} requests with {} items using {} searches",
+                batch.size(), matches.size(), candidatesByWord.size());
+        return matches.size();
+    }
+
+    /**
+     * Queue the requests of a failed batch again, a request that has already failed once is dropped
+     */
+    private void requeue(List<ItemRequestDtoResponse> batch, RuntimeException e) {
+        final List<Long> lostIds = new ArrayList<>();
+        for (ItemRequestDtoResponse request : batch) {
+            if (!retried.add(request.getId()) || !pending.offer(request)) {
+                retried.remove(request.getId());
+                lostIds.add(request.getId());
+            }
+        }
+        log.warn("Request matching failed for {} requests, not matched request ids={}", batch.size(), lostIds, e);
+    }
+
+    private static Set<String> wordsOf(String description) {
+        return SearchTokenizer.tokenize(description).stream()
+                .filter(word -> word.length() >= MIN_WORD_LENGTH)
+                .distinct()
+                .sorted(Comparator.comparing(String::length).reversed())
+                .limit(MAX_WORDS)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -1,12 +1,16 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     /**
@@ -27,5 +31,19 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
      * @param page
      * @return
      */
-    Page<ItemRequest> findAllByRequesterIdNot(long userId, PageRequest page);
+    List<ItemRequest> findAllByRequesterIdNot(long userId, PageRequest page);
+
+    /**
+     * @param page number of requests to load
+     * @return latest requests of all users, newest first
+     */
+    @Query("select r from ItemRequest r order by r.created desc, r.id desc")
+    List<ItemRequest> findLatest(Pageable page);
+
+    /**
+     * @param ids request ids to check
+     * @return ids of the requests that exist
+     */
+    @Query("select r.id from ItemRequest r where r.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
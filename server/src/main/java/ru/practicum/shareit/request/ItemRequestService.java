@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
 
 import java.util.List;
 
@@ -33,4 +34,12 @@ public interface ItemRequestService {
      * @return
      */
     List<ItemRequestDtoResponse> getAllFromOtherUsers(long userId, PageRequest page);
+
+    /**
+     * Get requests matched with the user's available items, newest first
+     * @param userId item owner
+     * @param page requested page
+     * @return matched requests with the items
+     */
+    List<RequestMatchDto> getMatches(long userId, PageRequest page);
 }
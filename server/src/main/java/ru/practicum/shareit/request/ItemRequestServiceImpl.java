@@ -1,12 +1,16 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
@@ -14,7 +18,10 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.util.Constants;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.util.Constants.MSG_USER_WITH_ID_NOT_FOUND;
@@ -26,15 +33,17 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository repository;
     private final UserRepository userRepository;
     private final UserService userService;
+    private final ItemRepository itemRepository;
+    private final ItemRequestFeed requestFeed;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RequestMatchRepository matchRepository;
 
     @Override
     public List<ItemRequestDtoResponse> getAllByRequestOwner(long userId) {
         if (!userService.existUser(userId)) {
             throw new NotFoundException(String.format(MSG_USER_WITH_ID_NOT_FOUND, userId));
         }
-        return repository.findAllByRequesterId(userId).stream()
-                .map(ItemRequestMapper::toDto)
-                .collect(Collectors.toList());
+        return toDtos(repository.findAllByRequesterId(userId));
     }
 
     @Override
@@ -56,7 +65,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         itemRequestDto.setCreated(currentTime);
 
         final ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto, user);
-        return ItemRequestMapper.toDto(repository.save(itemRequest));
+        final ItemRequestDtoResponse newRequest = ItemRequestMapper.toDto(repository.save(itemRequest));
+        eventPublisher.publishEvent(new ItemRequestCreatedEvent(newRequest));
+        return newRequest;
     }
 
     @Override
@@ -64,13 +75,41 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         if (!userService.existUser(userId)) {
             throw new NotFoundException(String.format(MSG_USER_WITH_ID_NOT_FOUND, userId));
         }
-        return (page != null)
+        final Optional<List<ItemRequestDtoResponse>> fromFeed = requestFeed.find(userId, page,
+                limit -> toDtos(repository.findLatest(PageRequest.of(0, limit))));
+        if (fromFeed.isPresent()) {
+            return fromFeed.get();
+        }
+        return toDtos((page != null)
                 ? repository.findAllByRequesterIdNot(userId, page)
-                .map(ItemRequestMapper::toDto)
-                .getContent()
-                : repository.findAllByRequesterIdNot(userId, Constants.SORT_BY_REQUEST_CREATE_DATE_DESC)
-                .stream()
-                .map(ItemRequestMapper::toDto)
+                : repository.findAllByRequesterIdNot(userId, Constants.SORT_BY_REQUEST_CREATE_DATE_DESC));
+    }
+
+    @Override
+    public List<RequestMatchDto> getMatches(long userId, PageRequest page) {
+        if (!userService.existUser(userId)) {
+            throw new NotFoundException(String.format(MSG_USER_WITH_ID_NOT_FOUND, userId));
+        }
+        return matchRepository.findAllByOwnerId(userId, page).stream()
+                .map(ItemRequestMapper::toMatchDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Load the items of all requests with one query instead of initializing each lazy items collection
+     */
+    private List<ItemRequestDtoResponse> toDtos(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        final Map<Long, List<Item>> itemsByRequest = itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+        return requests.stream()
+                .map(request -> ItemRequestMapper.toDto(request,
+                        itemsByRequest.getOrDefault(request.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
     }
 
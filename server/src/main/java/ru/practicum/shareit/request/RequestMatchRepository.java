@@ -0,0 +1,21 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.request.model.RequestMatch;
+
+import java.util.List;
+
+public interface RequestMatchRepository extends JpaRepository<RequestMatch, Long> {
+    /**
+     * Get matches of the owner's items with their requests and items, newest first
+     * @param ownerId item owner
+     * @param page requested page
+     * @return matches
+     */
+    @Query("select m from RequestMatch m join fetch m.request join fetch m.item " +
+            "where m.owner.id = :ownerId order by m.created desc, m.id desc")
+    List<RequestMatch> findAllByOwnerId(@Param("ownerId") long ownerId, Pageable page);
+}
@@ -5,6 +5,7 @@ import lombok.NoArgsConstructor;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.RequestMatch;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Collections;
@@ -14,7 +15,15 @@ import java.util.stream.Collectors;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ItemRequestMapper {
     public static ItemRequestDtoResponse toDto(ItemRequest itemRequest) {
-        final List<Item> itemList = itemRequest.getItems();
+        return toDto(itemRequest, itemRequest.getItems());
+    }
+
+    /**
+     * @param itemRequest request
+     * @param itemList items of the request loaded separately, so the lazy items collection is not touched
+     * @return request dto
+     */
+    public static ItemRequestDtoResponse toDto(ItemRequest itemRequest, List<Item> itemList) {
         return ItemRequestDtoResponse.builder()
                 .id(itemRequest.getId())
                 .description(itemRequest.getDescription())
@@ -25,6 +34,18 @@ public class ItemRequestMapper {
                 .build();
     }
 
+    public static RequestMatchDto toMatchDto(RequestMatch match) {
+        return RequestMatchDto.builder()
+                .requestId(match.getRequest().getId())
+                .description(match.getRequest().getDescription())
+                .requester(match.getRequest().getRequester().getId())
+                .requestCreated(match.getRequest().getCreated())
+                .itemId(match.getItem().getId())
+                .itemName(match.getItem().getName())
+                .score(match.getScore())
+                .build();
+    }
+
     public static ItemRequest toItemRequest(ItemRequestDto itemRequestDto, User user) {
         return ItemRequest.builder()
                 .description(itemRequestDto.getDescription())
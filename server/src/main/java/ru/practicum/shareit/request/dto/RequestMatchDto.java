@@ -0,0 +1,24 @@
+package ru.practicum.shareit.request.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestMatchDto {
+    private Long requestId;// идентификатор запроса
+    private String description;// текст запроса
+    private Long requester;// пользователь, создавший запрос
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime requestCreated;// дата и время создания запроса
+    private Long itemId;// идентификатор подходящей вещи владельца
+    private String itemName;// название подходящей вещи
+    private int score;// число слов запроса, найденных в вещи
+}
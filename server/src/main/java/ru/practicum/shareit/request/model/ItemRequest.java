@@ -17,10 +17,13 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static ru.practicum.shareit.util.Constants.ID_ALLOCATION_SIZE;
+
 @Data
 @Entity
 @Builder
@@ -29,7 +32,8 @@ import java.util.List;
 @Table(name = "requests")
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private long id;// уникальный идентификатор
     @Column(name = "description")
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.util.Constants.ID_ALLOCATION_SIZE;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "request_matches")
+public class RequestMatch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "request_matches_seq")
+    @SequenceGenerator(name = "request_matches_seq", sequenceName = "request_matches_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
+    @Column(name = "id")
+    private long id;// уникальный идентификатор
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "request_id", nullable = false)
+    @ToString.Exclude
+    private ItemRequest request;// запрос, которому подходит вещь
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    @ToString.Exclude
+    private Item item;// подходящая вещь
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", nullable = false)
+    @ToString.Exclude
+    private User owner;// владелец вещи, которому показывается совпадение
+
+    private int score;// число слов запроса, найденных в вещи
+    private LocalDateTime created;// дата и время сопоставления
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.user;
+
+import lombok.Value;
+
+/**
+ * Published by {@link UserService} when a user is deleted together with the user's items and requests,
+ * after an {@link ru.practicum.shareit.item.ItemDeletedEvent} for each of the items
+ */
+@Value
+public class UserDeletedEvent {
+    long userId;
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.user;
+
+import lombok.Value;
+
+/**
+ * Published by {@link UserService} when a user's name is changed, the name is shown as author of the user's comments
+ */
+@Value
+public class UserRenamedEvent {
+    long userId;
+}
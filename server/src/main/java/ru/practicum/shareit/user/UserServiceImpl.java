@@ -1,17 +1,23 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemDeletedEvent;
+import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 import static ru.practicum.shareit.util.Constants.MSG_USER_WITH_ID_NOT_FOUND;
 
@@ -20,6 +26,8 @@ import static ru.practicum.shareit.util.Constants.MSG_USER_WITH_ID_NOT_FOUND;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository repository;
+    private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -49,6 +57,7 @@ public class UserServiceImpl implements UserService {
         final User user = repository.findById(userId).orElseThrow(
                 () -> new NotFoundException(String.format(MSG_USER_WITH_ID_NOT_FOUND, userId)));
 
+        final boolean renamed = userDto.getName() != null && !userDto.getName().equals(user.getName());
         if (userDto.getName() != null) {
             user.setName(userDto.getName());
         }
@@ -56,6 +65,9 @@ public class UserServiceImpl implements UserService {
             user.setEmail(userDto.getEmail());
         }
         final User updatedUser = repository.save(user);
+        if (renamed) {
+            eventPublisher.publishEvent(new UserRenamedEvent(userId));
+        }
         return UserMapper.toUserDto(updatedUser);
     }
 
@@ -73,7 +85,19 @@ public class UserServiceImpl implements UserService {
         if (!existUser(userId)) {
             throw new NotFoundException(String.format(MSG_USER_WITH_ID_NOT_FOUND, userId));
         }
+        itemRepository.decrementCommentCountsByAuthor(userId);
+        final List<Long> bookedItemIds = itemRepository.findIdsByBookingPointerBooker(userId);
+        itemRepository.findAllByOwnerId(userId, Sort.unsorted())
+                .forEach(item -> eventPublisher.publishEvent(ItemDeletedEvent.of(item)));
+        itemRepository.findAllByRequestRequesterIdAndOwnerIdNot(userId, userId)
+                .forEach(item -> eventPublisher.publishEvent(ItemDeletedEvent.of(item)));
         repository.deleteById(userId);
+        if (!bookedItemIds.isEmpty()) {
+            // the user's bookings are gone with the user and their pointers are set to null
+            repository.flush();
+            itemRepository.refreshBookingPointers(bookedItemIds, LocalDateTime.now());
+        }
+        eventPublisher.publishEvent(new UserDeletedEvent(userId));
     }
 
     @Override
@@ -10,6 +10,9 @@ public class Constants {
     public static final String MSG_USER_WITH_ID_NOT_FOUND = "User with id=%d not found";
     public static final String MSG_ITEM_WITH_ID_NOT_FOUND = "Item with id=%d not found";
     public static final String MSG_BOOKING_WITH_ID_NOT_FOUND = "Booking with id=%d not found";
+    public static final int LATEST_COMMENTS_SIZE = 5;
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final int ID_ALLOCATION_SIZE = 50;
 
     public static final Sort SORT_BY_ID_ACS = Sort.by(Sort.Direction.ASC, "id");
     public static final Sort SORT_BY_START_ASC = Sort.by(Sort.Direction.ASC, "start");
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.util;
+
+import lombok.Value;
+import ru.practicum.shareit.exceptions.RequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Position of the last returned row for keyset pagination.
+ * Clients get it as an opaque string and send it back to fetch the next page.
+ */
+@Value
+public class PageCursor {
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime time;
+    long id;
+
+    /**
+     * @param time time of the last row, cut to microseconds as stored by the database,
+     *             so a cursor made from an entity that was not reloaded does not match the row itself
+     * @param id   id of the last row
+     */
+    public PageCursor(LocalDateTime time, long id) {
+        this.time = time.truncatedTo(ChronoUnit.MICROS);
+        this.id = id;
+    }
+
+    /**
+     * @return opaque cursor string
+     */
+    public String encode() {
+        final String value = time + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode cursor received from client
+     * @param cursor opaque cursor string, blank for the first page
+     * @return cursor or empty for the first page
+     */
+    public static Optional<PageCursor> decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new RequestException("Invalid cursor: " + cursor);
+            }
+            return Optional.of(new PageCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1))));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new RequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
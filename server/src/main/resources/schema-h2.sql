@@ -0,0 +1,10 @@
+ALTER TABLE items ADD COLUMN search_text VARCHAR(1300)
+  GENERATED ALWAYS AS (' ' || REGEXP_REPLACE(LOWER(name || ' ' || description), '[^\p{L}\p{N}]+', ' '));
+
+-- ids for rows inserted with plain SQL, Hibernate takes them from the same sequences
+ALTER TABLE users ALTER COLUMN id SET DEFAULT NEXT VALUE FOR users_seq;
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT NEXT VALUE FOR requests_seq;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT NEXT VALUE FOR items_seq;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT NEXT VALUE FOR comments_seq;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT NEXT VALUE FOR bookings_seq;
+ALTER TABLE request_matches ALTER COLUMN id SET DEFAULT NEXT VALUE FOR request_matches_seq;
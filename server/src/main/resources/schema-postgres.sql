@@ -0,0 +1,17 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings ADD CONSTRAINT EX_BOOKINGS_APPROVED_OVERLAP
+  EXCLUDE USING gist (item_id WITH =, tsrange(start_booking, end_booking, '[]') WITH &&)
+  WHERE (status = 'APPROVED');
+
+ALTER TABLE items ADD COLUMN search_vector tsvector
+  GENERATED ALWAYS AS (to_tsvector('simple', name || ' ' || description)) STORED;
+CREATE INDEX IF NOT EXISTS IX_ITEMS_SEARCH_VECTOR ON items USING gin (search_vector);
+
+-- ids for rows inserted with plain SQL, Hibernate takes them from the same sequences
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT nextval('requests_seq');
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+ALTER TABLE request_matches ALTER COLUMN id SET DEFAULT nextval('request_matches_seq');
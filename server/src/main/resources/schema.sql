@@ -1,18 +1,33 @@
-DROP TABLE IF EXISTS bookings;
+DROP TABLE IF EXISTS request_matches;
+DROP TABLE IF EXISTS bookings CASCADE;
 DROP TABLE IF EXISTS comments;
 DROP TABLE IF EXISTS items;
 DROP TABLE IF EXISTS requests;
 DROP TABLE IF EXISTS users;
+DROP SEQUENCE IF EXISTS bookings_seq;
+DROP SEQUENCE IF EXISTS comments_seq;
+DROP SEQUENCE IF EXISTS items_seq;
+DROP SEQUENCE IF EXISTS requests_seq;
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS request_matches_seq;
 
+-- INCREMENT BY must match ID_ALLOCATION_SIZE of the pooled id generators
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS request_matches_seq START WITH 1 INCREMENT BY 50;
 
-CREATE TABLE IF NOT EXISTS users ( id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+
+CREATE TABLE IF NOT EXISTS users ( id BIGINT PRIMARY KEY,
   name VARCHAR(255) NOT NULL,
   email VARCHAR(320) NOT NULL,
   CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
 
 CREATE TABLE IF NOT EXISTS requests (
-  id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   description VARCHAR(1000) NOT NULL UNIQUE,
   requester_id BIGINT NOT NULL,
   created TIMESTAMP WITHOUT TIME ZONE NOT NULL
@@ -21,18 +36,21 @@ CREATE TABLE IF NOT EXISTS requests (
 ALTER TABLE requests ADD FOREIGN KEY (requester_id) REFERENCES users (id) ON DELETE CASCADE;
 
 CREATE TABLE IF NOT EXISTS items (
-  id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   name VARCHAR(255) NOT NULL,
   description VARCHAR(1000) NOT NULL,
   available BOOLEAN DEFAULT true,
   owner_id BIGINT NOT NULL,
-  request_id BIGINT
+  request_id BIGINT,
+  last_booking_id BIGINT,
+  next_booking_id BIGINT,
+  comment_count INT NOT NULL DEFAULT 0
 );
 ALTER TABLE items ADD FOREIGN KEY (owner_id) REFERENCES users (id) ON DELETE CASCADE;
 ALTER TABLE items ADD FOREIGN KEY (request_id) REFERENCES requests (id) ON DELETE CASCADE;
 
 CREATE TABLE IF NOT EXISTS comments (
-  id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   item_id BIGINT NOT NULL,
   author_id BIGINT NOT NULL,
   text VARCHAR(1000) NOT NULL,
@@ -41,10 +59,11 @@ CREATE TABLE IF NOT EXISTS comments (
 
 ALTER TABLE comments ADD FOREIGN KEY (author_id) REFERENCES users (id) ON DELETE CASCADE;
 ALTER TABLE comments ADD FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE;
+CREATE INDEX IF NOT EXISTS IX_COMMENTS_ITEM_CREATED ON comments (item_id, created, id);
 
 
 CREATE TABLE IF NOT EXISTS bookings (
-  id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   item_id BIGINT NOT NULL,
   booker_id BIGINT NOT NULL,
   start_booking TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -54,3 +73,22 @@ CREATE TABLE IF NOT EXISTS bookings (
 
 ALTER TABLE bookings ADD FOREIGN KEY (booker_id) REFERENCES users (id) ON DELETE CASCADE;
 ALTER TABLE bookings ADD FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE;
+ALTER TABLE items ADD FOREIGN KEY (last_booking_id) REFERENCES bookings (id) ON DELETE SET NULL;
+ALTER TABLE items ADD FOREIGN KEY (next_booking_id) REFERENCES bookings (id) ON DELETE SET NULL;
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_ITEM_START ON bookings (item_id, start_booking);
+
+CREATE TABLE IF NOT EXISTS request_matches (
+  id BIGINT PRIMARY KEY,
+  request_id BIGINT NOT NULL,
+  item_id BIGINT NOT NULL,
+  owner_id BIGINT NOT NULL,
+  score INT NOT NULL,
+  created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT UQ_REQUEST_MATCH UNIQUE (request_id, item_id)
+);
+
+ALTER TABLE request_matches ADD FOREIGN KEY (request_id) REFERENCES requests (id) ON DELETE CASCADE;
+ALTER TABLE request_matches ADD FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE;
+ALTER TABLE request_matches ADD FOREIGN KEY (owner_id) REFERENCES users (id) ON DELETE CASCADE;
+CREATE INDEX IF NOT EXISTS IX_REQUEST_MATCHES_OWNER_CREATED ON request_matches (owner_id, created, id);
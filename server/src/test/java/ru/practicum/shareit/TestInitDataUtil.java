@@ -89,7 +89,7 @@ public class TestInitDataUtil {
     @NotNull
     public static List<Booking> getBookingList(BookingRepository bookingRepository, List<User> users, List<Item> items) {
 
-        final LocalDateTime currentTime = LocalDateTime.now();
+        final LocalDateTime currentTime = LocalDateTime.now().withNano(0);
         final Booking booking1 = addBooking(bookingRepository, users.get(1), items.get(0), currentTime.minusDays(1), currentTime.plusDays(1));
         final Booking booking2 = addBooking(bookingRepository, users.get(0), items.get(1), currentTime.minusDays(1), currentTime.plusDays(1));
         final Booking booking3 = addBooking(bookingRepository, users.get(0), items.get(2), currentTime.minusDays(1), currentTime.plusDays(1));
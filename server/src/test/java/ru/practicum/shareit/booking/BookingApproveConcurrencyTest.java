@@ -0,0 +1,117 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exceptions.AvailableException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingApproveConcurrencyTest {
+    private static final int BOOKINGS = 300;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void approveBooking_whenParallelApprovesForOneItem_thenNoOverlaps() throws Exception {
+        final User owner = userRepository.save(User.builder().name("Owner").email("owner@stress.ru").build());
+        final User booker = userRepository.save(User.builder().name("Booker").email("booker@stress.ru").build());
+        users.add(owner);
+        users.add(booker);
+        final Item item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Stress test item")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        final Random random = new Random(42);
+        final LocalDateTime origin = LocalDateTime.now().plusDays(1);
+        final List<Booking> bookings = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            final LocalDateTime start = origin.plusHours(random.nextInt(500));
+            bookings.add(bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(start)
+                    .end(start.plusHours(1 + random.nextInt(12)))
+                    .status(BookingStatus.WAITING)
+                    .build()));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        final AtomicInteger approved = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+        final List<Future<?>> futures = new ArrayList<>(BOOKINGS);
+        for (Booking booking : bookings) {
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                try {
+                    bookingService.approveBooking(owner.getId(), booking.getId(), true);
+                    approved.incrementAndGet();
+                } catch (AvailableException ex) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        final List<Booking> approvedBookings = bookingRepository
+                .findAllByItemIdAndStatus(item.getId(), BookingStatus.APPROVED).stream()
+                .sorted(Comparator.comparing(Booking::getStart))
+                .collect(Collectors.toList());
+
+        assertEquals(BOOKINGS, approved.get() + rejected.get());
+        assertEquals(approved.get(), approvedBookings.size());
+        assertTrue(rejected.get() > 0);
+        for (int i = 1; i < approvedBookings.size(); i++) {
+            final Booking previous = approvedBookings.get(i - 1);
+            final Booking current = approvedBookings.get(i);
+            assertTrue(current.getStart().isAfter(previous.getEnd()),
+                    String.format("Booking %d overlaps booking %d", current.getId(), previous.getId()));
+        }
+    }
+}
@@ -12,7 +12,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingBulkDto;
+import ru.practicum.shareit.booking.dto.BookingBulkResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoPage;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 
@@ -25,8 +29,12 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -87,6 +95,54 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status", is(dtoResponse.getStatus().name())));
     }
 
+    @SneakyThrows
+    @Test
+    void createBatch() {
+        when(service.bookItems(anyLong(), anyList()))
+                .thenReturn(List.of(
+                        BookingBatchResult.created(0, dtoResponse),
+                        BookingBatchResult.rejected(1, "Item with id=2 is not available")
+                ));
+
+        mvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(List.of(dto, dto.toBuilder().itemId(2L).build())))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].created", is(true)))
+                .andExpect(jsonPath("$[0].booking.id", is(dtoResponse.getId()), Long.class))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].created", is(false)))
+                .andExpect(jsonPath("$[1].error", is("Item with id=2 is not available")));
+    }
+
+    @SneakyThrows
+    @Test
+    void approveAll() {
+        final BookingDtoResponse updateDto = dtoResponse.toBuilder()
+                .status(BookingStatus.APPROVED)
+                .build();
+        when(service.approveBookings(anyLong(), anyList(), anyBoolean()))
+                .thenReturn(new BookingBulkResult(List.of(updateDto), 2));
+
+        mvc.perform(patch("/bookings/bulk")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(new BookingBulkDto(List.of(1L), true)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings", hasSize(1)))
+                .andExpect(jsonPath("$.bookings[0].status", is(BookingStatus.APPROVED.name())))
+                .andExpect(jsonPath("$.autoRejected", is(2)));
+
+        verify(service).approveBookings(1L, List.of(1L), true);
+    }
+
     @SneakyThrows
     @Test
     void approve() {
@@ -147,6 +203,42 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].status", is(dtoResponse.getStatus().name())));
     }
 
+    @SneakyThrows
+    @Test
+    void getAllByBooker_withCursor() {
+        when(service.getAllByBooker(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(new BookingDtoPage(List.of(dtoResponse), "next"));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "ALL")
+                        .param("cursor", "")
+                        .param("size", "1")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings", hasSize(1)))
+                .andExpect(jsonPath("$.bookings[0].id", is(dtoResponse.getId()), Long.class))
+                .andExpect(jsonPath("$.next", is("next")));
+
+        verify(service, never()).getAllByBooker(anyLong(), anyString(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    void getAllByOwner_withCursor() {
+        when(service.getAllByOwner(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(new BookingDtoPage(List.of(dtoResponse), null));
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "ALL")
+                        .param("cursor", "abc")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings", hasSize(1)))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
     @Test
     void getAllByOwner() throws Exception {
         when(service.getAllByOwner(anyLong(), anyString(), any()))
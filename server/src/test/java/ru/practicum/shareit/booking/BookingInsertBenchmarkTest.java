@@ -0,0 +1,114 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.TestInitDataUtil;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares inserting bookings one statement per row, as identity ids forced Hibernate to do,
+ * with pooled sequence ids and JDBC batching.
+ * Uses the configured datasource, so without the test profile it runs against PostgreSQL:
+ * {@code mvn test -Dtest=BookingInsertBenchmarkTest -Dbenchmark=true -Dbenchmark.bookings=100000}
+ */
+@Slf4j
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BookingInsertBenchmarkTest {
+    private static final String INSERT_BOOKING = "insert into bookings (item_id, booker_id, start_booking, end_booking, status) " +
+            "values (?, ?, ?, ?, ?)";
+    private static final int CHUNK_SIZE = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void compareRowByRowAndBatchedInserts() {
+        final int bookingCount = Integer.getInteger("benchmark.bookings", 100_000);
+        final List<User> users = TestInitDataUtil.getUserList(userRepository);
+        final List<Item> items = TestInitDataUtil.getItemList(itemRepository, users);
+        entityManager.flush();
+
+        final long rowByRow = measure(() -> insertRowByRow(makeBookings(items, users.get(1), bookingCount)));
+        final long batched = measure(() -> insertBatched(makeBookings(items, users.get(1), bookingCount)));
+
+        log.info("{} bookings: row by row {} ms ({} rows/s), batched {} ms ({} rows/s)", bookingCount,
+                rowByRow, bookingCount * 1000L / Math.max(rowByRow, 1),
+                batched, bookingCount * 1000L / Math.max(batched, 1));
+    }
+
+    private void insertRowByRow(List<Booking> bookings) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_BOOKING, new String[]{"id"})) {
+                for (Booking newBooking : bookings) {
+                    statement.setLong(1, newBooking.getItem().getId());
+                    statement.setLong(2, newBooking.getBooker().getId());
+                    statement.setObject(3, newBooking.getStart());
+                    statement.setObject(4, newBooking.getEnd());
+                    statement.setString(5, newBooking.getStatus().name());
+                    statement.executeUpdate();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        keys.next();
+                        newBooking.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private void insertBatched(List<Booking> bookings) {
+        for (int from = 0; from < bookings.size(); from += CHUNK_SIZE) {
+            bookingRepository.insertAll(bookings.subList(from, Math.min(from + CHUNK_SIZE, bookings.size())));
+            entityManager.clear();
+        }
+    }
+
+    private static List<Booking> makeBookings(List<Item> items, User booker, int bookingCount) {
+        final LocalDateTime start = LocalDateTime.now().plusDays(1);
+        final List<Booking> bookings = new ArrayList<>(bookingCount);
+        for (int i = 0; i < bookingCount; i++) {
+            bookings.add(Booking.builder()
+                    .item(items.get(i % items.size()))
+                    .booker(booker)
+                    .start(start.plusHours(i))
+                    .end(start.plusHours(i + 1))
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+        return bookings;
+    }
+
+    private static long measure(Runnable insert) {
+        final long startTime = System.nanoTime();
+        insert.run();
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.TestInitDataUtil.makeBooking;
+import static ru.practicum.shareit.booking.enums.BookingStatus.APPROVED;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+    @Mock
+    private BookingRepository bookingRepository;
+    @InjectMocks
+    private BookingIntervalIndex intervalIndex;
+
+    private final long itemId = 1L;
+    private LocalDateTime currentTime;
+
+    @BeforeEach
+    void setUp() {
+        currentTime = LocalDateTime.now();
+    }
+
+    @Test
+    void hasOverlap_whenNoBookings() {
+        when(bookingRepository.findAllByItemIdAndStatus(anyLong(), any())).thenReturn(Collections.emptyList());
+
+        assertFalse(intervalIndex.hasOverlap(itemId, currentTime, currentTime.plusDays(1)));
+    }
+
+    @Test
+    void hasOverlap_whenIntersectsOrContains() {
+        when(bookingRepository.findAllByItemIdAndStatus(anyLong(), any()))
+                .thenReturn(List.of(approved(currentTime.plusDays(2), currentTime.plusDays(4))));
+
+        assertTrue(intervalIndex.hasOverlap(itemId, currentTime.plusDays(1), currentTime.plusDays(3)));
+        assertTrue(intervalIndex.hasOverlap(itemId, currentTime.plusDays(3), currentTime.plusDays(5)));
+        assertTrue(intervalIndex.hasOverlap(itemId, currentTime.plusDays(1), currentTime.plusDays(5)));
+        assertTrue(intervalIndex.hasOverlap(itemId, currentTime.plusDays(3), currentTime.plusDays(3).plusHours(1)));
+        assertTrue(intervalIndex.hasOverlap(itemId, currentTime.plusDays(4), currentTime.plusDays(5)));
+    }
+
+    @Test
+    void hasOverlap_whenDisjoint() {
+        when(bookingRepository.findAllByItemIdAndStatus(anyLong(), any()))
+                .thenReturn(List.of(approved(currentTime.plusDays(2), currentTime.plusDays(4))));
+
+        assertFalse(intervalIndex.hasOverlap(itemId, currentTime, currentTime.plusDays(1)));
+        assertFalse(intervalIndex.hasOverlap(itemId, currentTime.plusDays(5), currentTime.plusDays(6)));
+    }
+
+    @Test
+    void add_whenIntervalsOverlap_thenMerged() {
+        when(bookingRepository.findAllByItemIdAndStatus(anyLong(), any())).thenReturn(Collections.emptyList());
+
+        intervalIndex.add(itemId, currentTime.plusDays(1), currentTime.plusDays(2));
+        intervalIndex.add(itemId, currentTime.plusDays(5), currentTime.plusDays(6));
+        intervalIndex.add(itemId, currentTime.plusDays(2), currentTime.plusDays(5));
+
+        assertTrue(intervalIndex.hasOverlap(itemId, currentTime.plusDays(4), currentTime.plusDays(4).plusHours(1)));
+        assertTrue(intervalIndex.hasOverlap(itemId, currentTime.plusDays(6), currentTime.plusDays(7)));
+        assertFalse(intervalIndex.hasOverlap(itemId, currentTime.plusDays(7), currentTime.plusDays(8)));
+        verify(bookingRepository, times(1)).findAllByItemIdAndStatus(itemId, APPROVED);
+    }
+
+    @Test
+    void evict_thenReloaded() {
+        when(bookingRepository.findAllByItemIdAndStatus(anyLong(), any())).thenReturn(Collections.emptyList());
+
+        intervalIndex.hasOverlap(itemId, currentTime, currentTime.plusDays(1));
+        intervalIndex.hasOverlap(itemId, currentTime, currentTime.plusDays(1));
+        intervalIndex.evict(itemId);
+        intervalIndex.hasOverlap(itemId, currentTime, currentTime.plusDays(1));
+
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatus(itemId, APPROVED);
+    }
+
+    @Test
+    void prune_thenEndedIntervalsAndEmptyItemsDropped() {
+        final long otherItemId = 2L;
+        when(bookingRepository.findAllByItemIdAndStatus(itemId, APPROVED)).thenReturn(List.of(
+                approved(currentTime.minusDays(4), currentTime.minusDays(3)),
+                approved(currentTime.minusDays(1), currentTime.plusDays(1))));
+        when(bookingRepository.findAllByItemIdAndStatus(otherItemId, APPROVED))
+                .thenReturn(List.of(approved(currentTime.minusDays(2), currentTime.minusDays(1))));
+        intervalIndex.hasOverlap(itemId, currentTime, currentTime.plusHours(1));
+        intervalIndex.hasOverlap(otherItemId, currentTime, currentTime.plusHours(1));
+
+        assertEquals(2, intervalIndex.prune(currentTime));
+
+        assertEquals(1, intervalIndex.itemCount());
+        assertTrue(intervalIndex.hasOverlap(itemId, currentTime, currentTime.plusHours(1)));
+        verify(bookingRepository, times(1)).findAllByItemIdAndStatus(itemId, APPROVED);
+    }
+
+    @Test
+    void onUserDeleted_thenIntervalsReloaded() {
+        when(bookingRepository.findAllByItemIdAndStatus(anyLong(), any()))
+                .thenReturn(List.of(approved(currentTime.plusDays(2), currentTime.plusDays(4))))
+                .thenReturn(Collections.emptyList());
+
+        assertTrue(intervalIndex.hasOverlap(itemId, currentTime.plusDays(3), currentTime.plusDays(5)));
+        intervalIndex.onUserDeleted(new UserDeletedEvent(2L));
+
+        assertEquals(0, intervalIndex.itemCount());
+        assertFalse(intervalIndex.hasOverlap(itemId, currentTime.plusDays(3), currentTime.plusDays(5)));
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatus(itemId, APPROVED);
+    }
+
+    @Test
+    void add_afterUserDeleted_thenAddedToReloadedIntervals() {
+        when(bookingRepository.findAllByItemIdAndStatus(anyLong(), any())).thenReturn(Collections.emptyList());
+        intervalIndex.hasOverlap(itemId, currentTime, currentTime.plusDays(1));
+        intervalIndex.onUserDeleted(new UserDeletedEvent(2L));
+
+        intervalIndex.add(itemId, currentTime.plusDays(1), currentTime.plusDays(2));
+
+        assertTrue(intervalIndex.hasOverlap(itemId, currentTime.plusDays(1), currentTime.plusDays(3)));
+    }
+
+    private Booking approved(LocalDateTime start, LocalDateTime end) {
+        return makeBooking(1L, null, null, start, end, APPROVED);
+    }
+
+    @Test
+    void preload_thenSingleQueryForAllItems() {
+        final long otherItemId = 2L;
+        final Booking booking = approved(currentTime.plusDays(2), currentTime.plusDays(4));
+        booking.setItem(Item.builder().id(otherItemId).build());
+        when(bookingRepository.findAllByItemIdInAndStatus(any(), any())).thenReturn(List.of(booking));
+
+        intervalIndex.preload(List.of(itemId, otherItemId));
+
+        assertFalse(intervalIndex.hasOverlap(itemId, currentTime.plusDays(3), currentTime.plusDays(5)));
+        assertTrue(intervalIndex.hasOverlap(otherItemId, currentTime.plusDays(3), currentTime.plusDays(5)));
+        verify(bookingRepository, times(1)).findAllByItemIdInAndStatus(List.of(itemId, otherItemId), APPROVED);
+        verify(bookingRepository, never()).findAllByItemIdAndStatus(anyLong(), any());
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.booking;
+
+import com.querydsl.core.types.Predicate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.TestInitDataUtil;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingMapping;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mapping a booking list must not trigger lazy loading of items or bookers
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookingListQueryCountTest {
+    private static final int ITEMS = 60;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User booker;
+
+    @BeforeEach
+    void init() {
+        final List<User> users = TestInitDataUtil.getUserList(userRepository);
+        booker = users.get(1);
+        final LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < ITEMS; i++) {
+            final Item item = itemRepository.save(Item.builder()
+                    .name("item " + i)
+                    .description("description " + i)
+                    .available(true)
+                    .owner(users.get(0))
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(start.plusHours(i))
+                    .end(start.plusHours(i + 1))
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    void findAllWithItemAndBooker_thenSingleStatement(int size) {
+        final Predicate predicate = QBooking.booking.booker.id.eq(booker.getId());
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        final List<BookingDtoResponse> bookings = BookingMapping.toListDto(
+                bookingRepository.findAllWithItemAndBooker(predicate, PageRequest.of(0, size)));
+
+        assertEquals(size, bookings.size());
+        bookings.forEach(booking -> assertEquals(booking.getItemId(), booking.getItem().getId()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    void findAllAfterCursor_thenSingleStatement(int size) {
+        final Predicate predicate = QBooking.booking.booker.id.eq(booker.getId());
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        final List<BookingDtoResponse> bookings = BookingMapping.toListDto(
+                bookingRepository.findAllAfterCursor(predicate, null, size));
+
+        assertEquals(size, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
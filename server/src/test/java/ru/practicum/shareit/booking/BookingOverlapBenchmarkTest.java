@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.practicum.shareit.TestInitDataUtil;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the JPQL overlap check with {@link BookingIntervalIndex}.
+ * Run with {@code mvn test -Dtest=BookingOverlapBenchmarkTest -Dbenchmark=true}
+ */
+@Slf4j
+@DataJpaTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BookingOverlapBenchmarkTest {
+    private static final int BOOKINGS_PER_ITEM = 10_000;
+    private static final int CHECKS = 2_000;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void compareOverlapChecks() {
+        final List<User> users = TestInitDataUtil.getUserList(userRepository);
+        final Item item = TestInitDataUtil.getItemList(itemRepository, users).get(0);
+        final LocalDateTime origin = LocalDateTime.now().plusDays(1);
+
+        final List<Booking> bookings = new ArrayList<>(BOOKINGS_PER_ITEM);
+        for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+            bookings.add(Booking.builder()
+                    .item(item)
+                    .booker(users.get(1))
+                    .start(origin.plusHours(3L * i))
+                    .end(origin.plusHours(3L * i + 1))
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+        bookingRepository.saveAll(bookings);
+        bookingRepository.flush();
+
+        final BookingIntervalIndex intervalIndex = new BookingIntervalIndex(bookingRepository);
+        intervalIndex.hasOverlap(item.getId(), origin, origin);
+
+        int jpqlHits = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < CHECKS; i++) {
+            final LocalDateTime start = origin.plusHours(15L * i + 1).plusMinutes(30);
+            if (bookingRepository.existsApprovedBookingForItemWithCrossTime(item.getId(), start, start.plusHours(1))) {
+                jpqlHits++;
+            }
+        }
+        final long jpqlTime = System.nanoTime() - startTime;
+
+        int indexHits = 0;
+        startTime = System.nanoTime();
+        for (int i = 0; i < CHECKS; i++) {
+            final LocalDateTime start = origin.plusHours(15L * i + 1).plusMinutes(30);
+            if (intervalIndex.hasOverlap(item.getId(), start, start.plusHours(1))) {
+                indexHits++;
+            }
+        }
+        final long indexTime = System.nanoTime() - startTime;
+
+        log.info("{} checks over {} bookings: jpql {} us/check, index {} us/check",
+                CHECKS, BOOKINGS_PER_ITEM, jpqlTime / 1000 / CHECKS, indexTime / 1000 / CHECKS);
+        assertEquals(jpqlHits, indexHits);
+    }
+}
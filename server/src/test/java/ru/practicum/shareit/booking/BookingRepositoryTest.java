@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import com.querydsl.core.types.Predicate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -9,10 +10,12 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import ru.practicum.shareit.TestInitDataUtil;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.QBooking;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -85,6 +88,22 @@ class BookingRepositoryTest {
         assertEquals(expectedList, actualList);
     }
 
+    @Test
+    void findLastAndNextApprovedByItemIdIn() {
+        final Item item = items.get(3);
+        final User booker = users.get(2);
+        final LocalDateTime currentTime = LocalDateTime.now();
+        approved(booker, item, currentTime.minusDays(10), currentTime.minusDays(9));
+        final Booking last = approved(booker, item, currentTime.minusDays(5), currentTime.minusDays(4));
+        final Booking next = approved(booker, item, currentTime.plusDays(4), currentTime.plusDays(5));
+        approved(booker, item, currentTime.plusDays(9), currentTime.plusDays(10));
+
+        final List<Booking> actualList = bookingRepository.findLastAndNextApprovedByItemIdIn(
+                List.of(items.get(1).getId(), item.getId()), currentTime);
+
+        assertThat(actualList).containsExactlyInAnyOrder(bookings.get(1), last, next);
+    }
+
     @Test
     void findByItemIdAndOwnerAndStatus() {
         final Item item = items.get(3);
@@ -133,4 +152,106 @@ class BookingRepositoryTest {
         assertTrue(existBooking);
     }
 
-}
\ No newline at end of file
+    @Test
+    void existsApprovedBookingForItemWithCrossTime_whenNewBookingContainsExisting() {
+        final Item item = items.get(2);
+        final LocalDateTime currentTime = LocalDateTime.now();
+        final boolean existBooking = bookingRepository.existsApprovedBookingForItemWithCrossTime(
+                item.getId(),
+                currentTime.minusDays(2),
+                currentTime.plusDays(2)
+        );
+
+        assertTrue(existBooking);
+    }
+
+    @Test
+    void findAllByItemIdAndStatus() {
+        final Item item = items.get(2);
+        final List<Booking> expectedList = List.of(bookings.get(2));
+
+        final List<Booking> actualList = bookingRepository.findAllByItemIdAndStatus(item.getId(), BookingStatus.APPROVED);
+
+        assertEquals(expectedList, actualList);
+    }
+
+    @Test
+    void findAllAfterCursor_whenSameStart_thenOrderedById() {
+        final User booker = users.get(0);
+        final Predicate predicate = QBooking.booking.booker.id.eq(booker.getId());
+
+        final List<Booking> firstPage = bookingRepository.findAllAfterCursor(predicate, null, 1);
+        assertEquals(List.of(bookings.get(2)), firstPage);
+
+        final Booking last = firstPage.get(0);
+        final List<Booking> secondPage = bookingRepository.findAllAfterCursor(
+                predicate, new PageCursor(last.getStart(), last.getId()), 2);
+        assertEquals(List.of(bookings.get(1)), secondPage);
+    }
+
+    @Test
+    void insertAll() {
+        final LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        final List<Booking> newBookings = List.of(
+                Booking.builder().item(items.get(0)).booker(users.get(1)).start(start).end(start.plusDays(1))
+                        .status(BookingStatus.WAITING).build(),
+                Booking.builder().item(items.get(1)).booker(users.get(2)).start(start).end(start.plusDays(2))
+                        .status(BookingStatus.WAITING).build()
+        );
+
+        bookingRepository.insertAll(newBookings);
+
+        for (Booking newBooking : newBookings) {
+            assertThat(newBooking.getId()).isPositive();
+            assertThat(bookingRepository.findById(newBooking.getId()))
+                    .hasValueSatisfying(booking -> {
+                        assertThat(booking.getItem()).hasFieldOrPropertyWithValue("id", newBooking.getItem().getId());
+                        assertThat(booking).hasFieldOrPropertyWithValue("end", newBooking.getEnd());
+                    });
+        }
+    }
+
+    @Test
+    void findAllByItemIdInAndStatus() {
+        final List<Booking> actualList = bookingRepository.findAllByItemIdInAndStatus(
+                List.of(items.get(1).getId(), items.get(2).getId(), items.get(3).getId()), BookingStatus.APPROVED);
+
+        assertThat(actualList).containsExactlyInAnyOrder(bookings.get(1), bookings.get(2));
+    }
+
+    @Test
+    void updateStatusAndRejectWaitingOverlapping() {
+        final Booking approved = bookings.get(4);
+        final Booking overlapping = bookingRepository.save(Booking.builder()
+                .item(approved.getItem())
+                .booker(users.get(1))
+                .start(approved.getEnd().minusHours(1))
+                .end(approved.getEnd().plusDays(1))
+                .status(BookingStatus.WAITING)
+                .build());
+        final Booking notOverlapping = bookings.get(3);
+        final Booking otherItem = bookings.get(0);
+
+        assertEquals(1, bookingRepository.updateStatus(List.of(approved.getId()), BookingStatus.APPROVED));
+        assertEquals(1, bookingRepository.rejectWaitingOverlapping(List.of(approved.getId())));
+
+        assertThat(bookingRepository.findById(approved.getId()))
+                .hasValueSatisfying(booking -> assertEquals(BookingStatus.APPROVED, booking.getStatus()));
+        assertThat(bookingRepository.findById(overlapping.getId()))
+                .hasValueSatisfying(booking -> assertEquals(BookingStatus.REJECTED, booking.getStatus()));
+        assertThat(bookingRepository.findById(notOverlapping.getId()))
+                .hasValueSatisfying(booking -> assertEquals(BookingStatus.WAITING, booking.getStatus()));
+        assertThat(bookingRepository.findById(otherItem.getId()))
+                .hasValueSatisfying(booking -> assertEquals(BookingStatus.WAITING, booking.getStatus()));
+    }
+
+    private Booking approved(User booker, Item item, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(BookingStatus.APPROVED)
+                .build());
+    }
+}
@@ -9,10 +9,12 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingBulkResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoPage;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.dto.BookingMapping;
 import ru.practicum.shareit.booking.model.Booking;
@@ -21,20 +23,31 @@ import ru.practicum.shareit.exceptions.NoAccessException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.RequestException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemViewCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.util.Constants;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -59,6 +72,10 @@ class BookingServiceTest {
     private ItemRepository itemRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private BookingIntervalIndex intervalIndex;
+    @Mock
+    private ItemViewCache itemViewCache;
     @InjectMocks
     private BookingServiceImpl bookingService;
     private List<User> userList;
@@ -118,7 +135,7 @@ class BookingServiceTest {
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(bookingRepository.existsApprovedBookingForItemWithCrossTime(anyLong(), any(), any())).thenReturn(false);
+        when(intervalIndex.hasOverlap(anyLong(), any(), any())).thenReturn(false);
         when(bookingRepository.save(any())).thenReturn(newBooking);
 
         final BookingDtoResponse actualBooking = bookingService.bookItem(bookerId, bookingDto);
@@ -127,7 +144,7 @@ class BookingServiceTest {
 
         verify(userRepository, times(1)).findById(bookerId);
         verify(itemRepository, times(1)).findById(itemId);
-        verify(bookingRepository, times(1)).existsApprovedBookingForItemWithCrossTime(itemId, start, end);
+        verify(intervalIndex, times(1)).hasOverlap(itemId, start, end);
         verify(bookingRepository, times(1)).save(newBooking);
     }
 
@@ -153,7 +170,7 @@ class BookingServiceTest {
 
         verify(userRepository, times(1)).findById(bookerId);
         verify(itemRepository, never()).findById(itemId);
-        verify(bookingRepository, never()).existsApprovedBookingForItemWithCrossTime(itemId, start, end);
+        verify(intervalIndex, never()).hasOverlap(itemId, start, end);
         verify(bookingRepository, never()).save(new Booking());
     }
 
@@ -180,7 +197,7 @@ class BookingServiceTest {
 
         verify(userRepository, times(1)).findById(bookerId);
         verify(itemRepository, times(1)).findById(itemId);
-        verify(bookingRepository, never()).existsApprovedBookingForItemWithCrossTime(itemId, start, end);
+        verify(intervalIndex, never()).hasOverlap(itemId, start, end);
         verify(bookingRepository, never()).save(new Booking());
     }
 
@@ -209,7 +226,7 @@ class BookingServiceTest {
 
         verify(userRepository, times(1)).findById(bookerId);
         verify(itemRepository, times(1)).findById(itemId);
-        verify(bookingRepository, never()).existsApprovedBookingForItemWithCrossTime(itemId, start, end);
+        verify(intervalIndex, never()).hasOverlap(itemId, start, end);
         verify(bookingRepository, never()).save(new Booking());
     }
 
@@ -238,7 +255,7 @@ class BookingServiceTest {
 
         verify(userRepository, times(1)).findById(bookerId);
         verify(itemRepository, times(1)).findById(itemId);
-        verify(bookingRepository, never()).existsApprovedBookingForItemWithCrossTime(itemId, start, end);
+        verify(intervalIndex, never()).hasOverlap(itemId, start, end);
         verify(bookingRepository, never()).save(new Booking());
     }
 
@@ -258,7 +275,7 @@ class BookingServiceTest {
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(bookingRepository.existsApprovedBookingForItemWithCrossTime(anyLong(), any(), any())).thenReturn(true);
+        when(intervalIndex.hasOverlap(anyLong(), any(), any())).thenReturn(true);
 
 
         final AvailableException exception = assertThrows(AvailableException.class,
@@ -270,7 +287,7 @@ class BookingServiceTest {
 
         verify(userRepository, times(1)).findById(bookerId);
         verify(itemRepository, times(1)).findById(itemId);
-        verify(bookingRepository, times(1)).existsApprovedBookingForItemWithCrossTime(itemId, start, end);
+        verify(intervalIndex, times(1)).hasOverlap(itemId, start, end);
         verify(bookingRepository, never()).save(new Booking());
     }
 
@@ -285,20 +302,24 @@ class BookingServiceTest {
         final LocalDateTime end = booking.getEnd();
 
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(bookingRepository
-                .existsApprovedBookingForItemWithCrossTime(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(booking.getItem()));
+        when(intervalIndex.hasOverlap(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(false);
         final Booking exitedBooking = booking.toBuilder()
                 .status(isApproved ? APPROVED : REJECTED)
                 .build();
-        when(bookingRepository.save(any())).thenReturn(exitedBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(exitedBooking);
 
         final BookingDtoResponse actualBooking = bookingService.approveBooking(userId, bookingId, isApproved);
         assertEquals(BookingMapping.toDto(exitedBooking), actualBooking);
 
         verify(bookingRepository, times(1)).findById(bookingId);
-        verify(bookingRepository, times(1)).existsApprovedBookingForItemWithCrossTime(bookingId, start, end);
-        verify(bookingRepository, times(1)).save(exitedBooking);
+        verify(intervalIndex, times(1)).hasOverlap(bookingId, start, end);
+        verify(bookingRepository, times(1)).saveAndFlush(exitedBooking);
+        verify(intervalIndex, times(isApproved ? 1 : 0)).add(bookingId, start, end);
+        verify(itemRepository, times(isApproved ? 1 : 0))
+                .refreshBookingPointers(eq(List.of(booking.getItem().getId())), any(LocalDateTime.class));
+        verify(itemViewCache, times(isApproved ? 1 : 0)).evict(booking.getItem().getId());
     }
 
     @Test
@@ -317,8 +338,8 @@ class BookingServiceTest {
         assertEquals("Booker cannot change booking status", exception.getMessage());
 
         verify(bookingRepository, times(1)).findById(bookingId);
-        verify(bookingRepository, never()).existsApprovedBookingForItemWithCrossTime(bookingId, start, end);
-        verify(bookingRepository, never()).save(new Booking());
+        verify(intervalIndex, never()).hasOverlap(bookingId, start, end);
+        verify(bookingRepository, never()).saveAndFlush(new Booking());
     }
 
     @Test
@@ -336,8 +357,8 @@ class BookingServiceTest {
         assertEquals("The booking status should be 'WAITING'", exception.getMessage());
 
         verify(bookingRepository, times(1)).findById(bookingId);
-        verify(bookingRepository, never()).existsApprovedBookingForItemWithCrossTime(bookingId, start, end);
-        verify(bookingRepository, never()).save(new Booking());
+        verify(intervalIndex, never()).hasOverlap(bookingId, start, end);
+        verify(bookingRepository, never()).saveAndFlush(new Booking());
     }
 
     @Test
@@ -349,6 +370,7 @@ class BookingServiceTest {
         final LocalDateTime end = booking.getEnd();
 
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(booking.getItem()));
 
         final NoAccessException exception = assertThrows(NoAccessException.class,
                 () -> bookingService.approveBooking(userId, bookingId, true));
@@ -356,8 +378,8 @@ class BookingServiceTest {
         assertEquals(exception.getMessage(), String.format("The user(id=%d) does not have access to approve booking.", userId));
 
         verify(bookingRepository, times(1)).findById(bookingId);
-        verify(bookingRepository, never()).existsApprovedBookingForItemWithCrossTime(bookingId, start, end);
-        verify(bookingRepository, never()).save(new Booking());
+        verify(intervalIndex, never()).hasOverlap(bookingId, start, end);
+        verify(bookingRepository, never()).saveAndFlush(new Booking());
     }
 
     @Test
@@ -369,14 +391,15 @@ class BookingServiceTest {
         final LocalDateTime end = booking.getEnd();
 
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(booking.getItem()));
         final NoAccessException exception = assertThrows(NoAccessException.class,
                 () -> bookingService.approveBooking(userId, bookingId, true));
 
         assertEquals("You cannot confirm a booking that has already expired", exception.getMessage());
 
         verify(bookingRepository, times(1)).findById(bookingId);
-        verify(bookingRepository, never()).existsApprovedBookingForItemWithCrossTime(bookingId, start, end);
-        verify(bookingRepository, never()).save(new Booking());
+        verify(intervalIndex, never()).hasOverlap(bookingId, start, end);
+        verify(bookingRepository, never()).saveAndFlush(new Booking());
     }
 
     @Test
@@ -389,7 +412,8 @@ class BookingServiceTest {
         final LocalDateTime end = booking.getEnd();
 
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(bookingRepository.existsApprovedBookingForItemWithCrossTime(anyLong(), any(), any())).thenReturn(true);
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(booking.getItem()));
+        when(intervalIndex.hasOverlap(anyLong(), any(), any())).thenReturn(true);
 
         final AvailableException exception = assertThrows(AvailableException.class,
                 () -> bookingService.approveBooking(userId, bookingId, true));
@@ -400,8 +424,33 @@ class BookingServiceTest {
                         bookingId, itemId, start, end));
 
         verify(bookingRepository, times(1)).findById(bookingId);
-        verify(bookingRepository, times(1)).existsApprovedBookingForItemWithCrossTime(itemId, start, end);
-        verify(bookingRepository, never()).save(new Booking());
+        verify(intervalIndex, times(1)).hasOverlap(itemId, start, end);
+        verify(bookingRepository, never()).saveAndFlush(new Booking());
+    }
+
+    @Test
+    void approveBooking_whenExclusionConstraintViolated() {
+        final Booking booking = bookingList.get(0);
+        final long bookingId = booking.getId();
+        final long userId = booking.getItem().getOwner().getId();
+        final long itemId = booking.getItem().getId();
+        final LocalDateTime start = booking.getStart();
+        final LocalDateTime end = booking.getEnd();
+
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(booking.getItem()));
+        when(intervalIndex.hasOverlap(anyLong(), any(), any())).thenReturn(false);
+        when(bookingRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("overlap"));
+
+        final AvailableException exception = assertThrows(AvailableException.class,
+                () -> bookingService.approveBooking(userId, bookingId, true));
+
+        assertEquals(exception.getMessage(),
+                String.format(
+                        "Booking(id=%d) for item(id=%d) is not available for approve for dates from %s to %s",
+                        bookingId, itemId, start, end));
+
+        verify(intervalIndex, never()).add(itemId, start, end);
     }
 
     @Test
@@ -417,8 +466,8 @@ class BookingServiceTest {
 
         verify(bookingRepository, times(1)).findById(bookingId);
 
-        verify(bookingRepository, never()).existsApprovedBookingForItemWithCrossTime(bookingId, currentTime.minusDays(1), currentTime.plusDays(1));
-        verify(bookingRepository, never()).save(new Booking());
+        verify(intervalIndex, never()).hasOverlap(bookingId, currentTime.minusDays(1), currentTime.plusDays(1));
+        verify(bookingRepository, never()).saveAndFlush(new Booking());
     }
 
     @Test
@@ -479,7 +528,7 @@ class BookingServiceTest {
         );
 
         when(userService.existUser(anyLong())).thenReturn(true);
-        when(bookingRepository.findAll(any(Predicate.class), any(Sort.class)))
+        when(bookingRepository.findAllWithItemAndBooker(any(Predicate.class), isNull()))
                 .thenReturn(expectedList);
 
         final List<BookingDtoResponse> actualList = bookingService.getAllByBooker(expectedUser.getId(), "WAITING", null);
@@ -499,8 +548,8 @@ class BookingServiceTest {
         );
 
         when(userService.existUser(anyLong())).thenReturn(true);
-        when(bookingRepository.findAll(any(Predicate.class), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(expectedList));
+        when(bookingRepository.findAllWithItemAndBooker(any(Predicate.class), any(PageRequest.class)))
+                .thenReturn(expectedList);
 
         final List<BookingDtoResponse> actualList = bookingService.getAllByBooker(expectedUser.getId(), "WAITING", page);
 
@@ -538,7 +587,7 @@ class BookingServiceTest {
         );
 
         when(userService.existUser(anyLong())).thenReturn(true);
-        when(bookingRepository.findAll(any(Predicate.class), any(Sort.class)))
+        when(bookingRepository.findAllWithItemAndBooker(any(Predicate.class), isNull()))
                 .thenReturn(expectedList);
 
         final List<BookingDtoResponse> actualList = bookingService.getAllByOwner(expectedUser.getId(), "WAITING", null);
@@ -567,4 +616,187 @@ class BookingServiceTest {
         assertEquals("Unknown state: " + state, exception.getMessage());
     }
 
-}
\ No newline at end of file
+    @Test
+    void getAllByBooker_withCursor_whenMoreRows_thenNextCursor() {
+        final User expectedUser = userList.get(2);
+        final Booking first = bookingList.get(1);
+        final Booking second = bookingList.get(2);
+
+        when(userService.existUser(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllAfterCursor(any(Predicate.class), any(), anyInt()))
+                .thenReturn(List.of(first, second));
+
+        final BookingDtoPage actualPage = bookingService.getAllByBooker(expectedUser.getId(), "ALL", "", 1);
+
+        assertEquals(List.of(BookingMapping.toDto(first)), actualPage.getBookings());
+        assertEquals(new PageCursor(first.getStart(), first.getId()).encode(), actualPage.getNext());
+        verify(bookingRepository, times(1)).findAllAfterCursor(any(Predicate.class), isNull(), eq(2));
+        verify(bookingRepository, never()).findAllWithItemAndBooker(any(Predicate.class), any());
+    }
+
+    @Test
+    void getAllByOwner_withCursor_whenLastPage_thenNoNextCursor() {
+        final User expectedUser = userList.get(0);
+        final Booking booking = bookingList.get(0);
+        final PageCursor cursor = new PageCursor(currentTime, 10L);
+
+        when(userService.existUser(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllAfterCursor(any(Predicate.class), any(), anyInt()))
+                .thenReturn(List.of(booking));
+
+        final BookingDtoPage actualPage = bookingService.getAllByOwner(expectedUser.getId(), "WAITING", cursor.encode(), 5);
+
+        assertEquals(List.of(BookingMapping.toDto(booking)), actualPage.getBookings());
+        assertNull(actualPage.getNext());
+        verify(bookingRepository, times(1)).findAllAfterCursor(any(Predicate.class), eq(cursor), eq(6));
+    }
+
+    @Test
+    void getAllByBooker_withWrongCursor() {
+        final RequestException exception = assertThrows(RequestException.class,
+                () -> bookingService.getAllByBooker(1L, "ALL", "not a cursor", 5));
+
+        assertEquals("Invalid cursor: not a cursor", exception.getMessage());
+        verify(bookingRepository, never()).findAllAfterCursor(any(Predicate.class), any(), anyInt());
+    }
+
+    @Test
+    void bookItems_whenSomeEntriesInvalid_thenOthersCreated() {
+        final User booker = userList.get(2);
+        final LocalDateTime start = currentTime.plusDays(1);
+        final LocalDateTime end = currentTime.plusDays(2);
+        final List<BookingDto> bookingDtos = List.of(
+                BookingDto.builder().itemId(1L).start(start).end(end).build(),
+                BookingDto.builder().itemId(4L).start(start).end(end).build(),
+                BookingDto.builder().itemId(99L).start(start).end(end).build(),
+                BookingDto.builder().itemId(2L).start(start).end(end).build(),
+                BookingDto.builder().itemId(1L).start(end).end(start).build()
+        );
+
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findAllById(any())).thenReturn(List.of(itemList.get(0), itemList.get(1), itemList.get(3)));
+        when(intervalIndex.hasOverlap(eq(1L), any(), any())).thenReturn(false);
+        when(intervalIndex.hasOverlap(eq(2L), any(), any())).thenReturn(true);
+        doAnswer(invocation -> {
+            final List<Booking> newBookings = invocation.getArgument(0);
+            newBookings.get(0).setId(10L);
+            return null;
+        }).when(bookingRepository).insertAll(anyList());
+
+        final List<BookingBatchResult> results = bookingService.bookItems(booker.getId(), bookingDtos);
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).isCreated());
+        assertEquals(10L, results.get(0).getBooking().getId());
+        assertEquals(WAITING, results.get(0).getBooking().getStatus());
+        assertEquals("Item with id=4 is not available", results.get(1).getError());
+        assertEquals(String.format(MSG_ITEM_WITH_ID_NOT_FOUND, 99L), results.get(2).getError());
+        assertEquals(String.format("Booking item(id=%d) is not available for dates from %s to %s", 2L, start, end),
+                results.get(3).getError());
+        assertEquals("Booking start date must be before end date.", results.get(4).getError());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+        verify(intervalIndex, times(1)).preload(any());
+        verify(bookingRepository, times(1)).insertAll(anyList());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void bookItems_whenUserNotFound() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bookingService.bookItems(5L, List.of(BookingDto.builder().build())));
+
+        verify(bookingRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void approveBookings_whenApproved_thenOverlappingRejected() {
+        final User owner = userList.get(1);
+        final Booking first = makeBooking(7L, itemList.get(1), userList.get(0),
+                currentTime.plusDays(1), currentTime.plusDays(2), WAITING);
+        final Booking second = makeBooking(8L, itemList.get(2), userList.get(0),
+                currentTime.plusDays(1), currentTime.plusDays(2), WAITING);
+        final List<Long> ids = List.of(first.getId(), second.getId());
+
+        when(bookingRepository.findAllWithItemByIdIn(any())).thenReturn(List.of(second, first));
+        when(intervalIndex.hasOverlap(anyLong(), any(), any())).thenReturn(false);
+        when(bookingRepository.updateStatus(any(), any())).thenReturn(2);
+        when(bookingRepository.rejectWaitingOverlapping(any())).thenReturn(3);
+
+        final BookingBulkResult result = bookingService.approveBookings(owner.getId(), ids, true);
+
+        assertEquals(3, result.getAutoRejected());
+        assertEquals(List.of(first.getId(), second.getId()),
+                result.getBookings().stream().map(BookingDtoResponse::getId).collect(Collectors.toList()));
+        result.getBookings().forEach(booking -> assertEquals(APPROVED, booking.getStatus()));
+        verify(itemRepository, times(1)).findAllByIdInForUpdate(Set.of(2L, 3L));
+        verify(intervalIndex, times(1)).add(2L, first.getStart(), first.getEnd());
+        verify(intervalIndex, times(1)).add(3L, second.getStart(), second.getEnd());
+        verify(bookingRepository, times(1)).updateStatus(Set.of(7L, 8L), APPROVED);
+        verify(itemViewCache, times(1)).evict(2L);
+        verify(itemViewCache, times(1)).evict(3L);
+    }
+
+    @Test
+    void approveBookings_whenRejected_thenNoOverlapChecks() {
+        final User owner = userList.get(1);
+        final Booking booking = makeBooking(7L, itemList.get(1), userList.get(0),
+                currentTime.plusDays(1), currentTime.plusDays(2), WAITING);
+
+        when(bookingRepository.findAllWithItemByIdIn(any())).thenReturn(List.of(booking));
+
+        final BookingBulkResult result = bookingService.approveBookings(owner.getId(), List.of(7L), false);
+
+        assertEquals(0, result.getAutoRejected());
+        assertEquals(REJECTED, result.getBookings().get(0).getStatus());
+        verify(intervalIndex, never()).hasOverlap(anyLong(), any(), any());
+        verify(bookingRepository, never()).rejectWaitingOverlapping(any());
+        verify(bookingRepository, times(1)).updateStatus(Set.of(7L), REJECTED);
+    }
+
+    @Test
+    void approveBookings_whenRequestedBookingsOverlap_thenNothingChanged() {
+        final User owner = userList.get(1);
+        final Booking first = makeBooking(7L, itemList.get(1), userList.get(0),
+                currentTime.plusDays(1), currentTime.plusDays(3), WAITING);
+        final Booking second = makeBooking(8L, itemList.get(1), userList.get(2),
+                currentTime.plusDays(2), currentTime.plusDays(4), WAITING);
+
+        when(bookingRepository.findAllWithItemByIdIn(any())).thenReturn(List.of(first, second));
+        when(intervalIndex.hasOverlap(anyLong(), any(), any())).thenReturn(false, true);
+
+        assertThrows(AvailableException.class,
+                () -> bookingService.approveBookings(owner.getId(), List.of(7L, 8L), true));
+
+        verify(intervalIndex, times(1)).add(2L, first.getStart(), first.getEnd());
+        verify(bookingRepository, never()).updateStatus(any(), any());
+    }
+
+    @Test
+    void approveBookings_whenBookingNotFound() {
+        final Booking booking = bookingList.get(2);
+
+        when(bookingRepository.findAllWithItemByIdIn(any())).thenReturn(List.of(booking));
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> bookingService.approveBookings(2L, List.of(booking.getId(), 99L), true));
+
+        assertEquals(String.format(Constants.MSG_BOOKING_WITH_ID_NOT_FOUND, 99L), exception.getMessage());
+        verify(itemRepository, never()).findAllByIdInForUpdate(any());
+    }
+
+    @Test
+    void approveBookings_whenUserNotOwner() {
+        final Booking booking = makeBooking(7L, itemList.get(1), userList.get(0),
+                currentTime.plusDays(1), currentTime.plusDays(2), WAITING);
+
+        when(bookingRepository.findAllWithItemByIdIn(any())).thenReturn(List.of(booking));
+
+        assertThrows(NoAccessException.class,
+                () -> bookingService.approveBookings(3L, List.of(7L), true));
+
+        verify(bookingRepository, never()).updateStatus(any(), any());
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestInitDataUtil.getItemList;
+import static ru.practicum.shareit.TestInitDataUtil.getUserList;
+
+@DataJpaTest
+class CommentRepositoryTest {
+    private static final int COMMENTS = 7;
+
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private List<Item> items;
+    private final List<Comment> comments = new ArrayList<>();
+
+    @BeforeEach
+    void init() {
+        final List<User> users = getUserList(userRepository);
+        items = getItemList(itemRepository, users);
+        final LocalDateTime created = LocalDateTime.now().minusDays(1).withNano(0);
+        for (int i = 0; i < COMMENTS; i++) {
+            comments.add(addComment(items.get(0), users.get(1), created.plusHours(i / 2)));
+        }
+        addComment(items.get(1), users.get(2), created);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findLatestByItemId() {
+        final List<Comment> latest = commentRepository.findLatestByItemId(items.get(0).getId(), PageRequest.of(0, 3));
+
+        assertThat(ids(latest)).containsExactly(comments.get(6).getId(), comments.get(5).getId(), comments.get(4).getId());
+        assertThat(latest.get(0).getAuthor().getName()).isEqualTo("Jane");
+    }
+
+    @Test
+    void findByItemIdAfter_whenSameCreated_thenOrderedById() {
+        final Comment last = comments.get(5);
+
+        final List<Comment> next = commentRepository.findByItemIdAfter(
+                items.get(0).getId(), last.getCreated(), last.getId(), PageRequest.of(0, 3));
+
+        assertThat(ids(next)).containsExactly(comments.get(4).getId(), comments.get(3).getId(), comments.get(2).getId());
+    }
+
+    @Test
+    void findLatestByItemIdIn() {
+        final List<Comment> latest = commentRepository.findLatestByItemIdIn(
+                List.of(items.get(0).getId(), items.get(1).getId(), items.get(2).getId()), 2);
+
+        assertThat(latest).hasSize(3);
+        assertThat(latest.stream()
+                .filter(comment -> comment.getItem().getId() == items.get(0).getId())
+                .map(Comment::getId)
+                .collect(Collectors.toList()))
+                .containsExactly(comments.get(6).getId(), comments.get(5).getId());
+    }
+
+    private Comment addComment(Item item, User author, LocalDateTime created) {
+        return commentRepository.save(Comment.builder()
+                .item(item)
+                .author(author)
+                .text("Comment")
+                .created(created)
+                .build());
+    }
+
+    private static List<Long> ids(List<Comment> comments) {
+        return comments.stream().map(Comment::getId).collect(Collectors.toList());
+    }
+}
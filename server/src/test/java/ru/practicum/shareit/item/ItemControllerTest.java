@@ -6,10 +6,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.CommentDtoPage;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.dto.ItemImportError;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -17,12 +21,18 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,6 +40,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class ItemControllerTest {
     @MockBean
     private ItemService service;
+    @MockBean
+    private ItemImportService importService;
     @Autowired
     private ObjectMapper mapper;
     @Autowired
@@ -108,6 +120,24 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.description", is(dto.getDescription())));
     }
 
+    @Test
+    void getById_whenEtagMatches_thenNotModified() throws Exception {
+        when(service.getById(anyLong(), anyLong()))
+                .thenReturn(dto);
+
+        final String etag = mvc.perform(get("/items/{id}", 1L)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/items/{id}", 1L)
+                        .header("X-Sharer-User-Id", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
     @Test
     void update() throws Exception {
         when(service.update(any(), anyLong(), anyLong()))
@@ -143,6 +173,58 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].description", is(dto.getDescription())));
     }
 
+    @Test
+    void suggest() throws Exception {
+        when(service.suggest(anyString(), anyInt()))
+                .thenReturn(List.of("отвертка", "отвес"));
+
+        mvc.perform(get("/items/suggest")
+                        .param("prefix", "отв")
+                        .param("size", "5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]", is("отвертка")));
+        verify(service, times(1)).suggest("отв", 5);
+    }
+
+    @Test
+    void getComments() throws Exception {
+        final CommentDtoResponse comment = CommentDtoResponse.builder().id(1L).text("Отличная дрель").authorName("Jon").build();
+        when(service.getComments(anyLong(), any(), anyInt()))
+                .thenReturn(new CommentDtoPage(List.of(comment), "next-cursor"));
+
+        mvc.perform(get("/items/1/comments")
+                        .param("cursor", "cursor")
+                        .param("size", "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments", hasSize(1)))
+                .andExpect(jsonPath("$.comments[0].text", is(comment.getText())))
+                .andExpect(jsonPath("$.next", is("next-cursor")));
+        verify(service, times(1)).getComments(1L, "cursor", 1);
+    }
+
+    @Test
+    void importItems() throws Exception {
+        when(importService.importItems(anyLong(), any(), any()))
+                .thenReturn(new ItemImportResult(1, 1, List.of(new ItemImportError(3L, "Name cannot be empty or null"))));
+
+        mvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1)
+                        .content("name,description,available\nДрель,Простая дрель,true\n,Без названия,true\n")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType("text/csv")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)));
+        verify(importService, times(1)).importItems(eq(1L), any(), any());
+    }
+
     @Test
     void search_Pagination() throws Exception {
         when(service.search(anyString(), any()))
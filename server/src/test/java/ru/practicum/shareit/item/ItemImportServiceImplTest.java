@@ -0,0 +1,175 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.exceptions.RequestException;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.TestInitDataUtil.makeUser;
+
+@ExtendWith(MockitoExtension.class)
+class ItemImportServiceImplTest {
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ItemImportServiceImpl importService;
+    private final User owner = makeUser(1L, "Jon", "jon@mail.ru");
+
+    @BeforeEach
+    void setUp() {
+        importService = new ItemImportServiceImpl(userRepository, itemRepository, itemRequestRepository,
+                eventPublisher, new ObjectMapper(), transactionManager, 2);
+    }
+
+    @Test
+    void importItems_whenCsv_thenInsertedInBatches() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+
+        final ItemImportResult result = importService.importItems(owner.getId(), TEXT_CSV, body(
+                "Available,Name,Description",
+                "true,Дрель,\"Дрель, ударная\"",
+                "",
+                "false,Пила,Ножовка",
+                "true,Молоток,\"Молоток \"\"Зубр\"\"\""));
+
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getFailed());
+        final ArgumentCaptor<List<Item>> batches = captureBatches(2);
+        assertEquals(2, batches.getAllValues().get(0).size());
+        assertEquals("Дрель, ударная", batches.getAllValues().get(0).get(0).getDescription());
+        assertEquals("Молоток \"Зубр\"", batches.getAllValues().get(1).get(0).getDescription());
+        assertEquals(owner, batches.getAllValues().get(1).get(0).getOwner());
+        verify(eventPublisher, times(3)).publishEvent(any(ItemChangedEvent.class));
+        verify(itemRequestRepository, never()).findExistingIds(any());
+    }
+
+    @Test
+    void importItems_whenInvalidLines_thenReportedByLine() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+        when(itemRequestRepository.findExistingIds(any())).thenReturn(Set.of(1L));
+
+        final ItemImportResult result = importService.importItems(owner.getId(), MediaType.APPLICATION_NDJSON, body(
+                "{\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":true,\"requestId\":2}",
+                "{\"name\":\"\",\"description\":\"Без названия\",\"available\":true}",
+                "{\"name\":\"Пила\",\"description\":\"Ножовка\",\"available\":true,\"requestId\":1}",
+                "{\"name\":\"Молоток\""));
+
+        assertEquals(1, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(1, result.getErrors().get(0).getLine());
+        assertEquals("Request(id=2) not found", result.getErrors().get(0).getMessage());
+        assertEquals(2, result.getErrors().get(1).getLine());
+        assertEquals("Name cannot be empty or null", result.getErrors().get(1).getMessage());
+        assertEquals(4, result.getErrors().get(2).getLine());
+        final ArgumentCaptor<List<Item>> batches = captureBatches(1);
+        assertEquals(1L, batches.getValue().get(0).getRequest().getId());
+    }
+
+    @Test
+    void importItems_whenErrorsExceedLimit_thenCountedButNotReported() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+        final StringBuilder csv = new StringBuilder("name,description,available\n");
+        for (int i = 0; i <= ItemImportServiceImpl.MAX_REPORTED_ERRORS; i++) {
+            csv.append("Дрель,,true\n");
+        }
+
+        final ItemImportResult result = importService.importItems(owner.getId(), TEXT_CSV,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(ItemImportServiceImpl.MAX_REPORTED_ERRORS + 1, result.getFailed());
+        assertEquals(ItemImportServiceImpl.MAX_REPORTED_ERRORS, result.getErrors().size());
+        verify(itemRepository, never()).insertAll(any());
+    }
+
+    @Test
+    void importItems_whenCsvHeaderMissesColumn_thenRequestException() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+
+        final RequestException exception = assertThrows(RequestException.class,
+                () -> importService.importItems(owner.getId(), TEXT_CSV, body("name,available", "Дрель,true")));
+
+        assertEquals("CSV header has no column 'description'", exception.getMessage());
+    }
+
+    @Test
+    void importItems_whenUnsupportedFormat_thenRequestException() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+
+        assertThrows(RequestException.class,
+                () -> importService.importItems(owner.getId(), MediaType.APPLICATION_XML, body("<items/>")));
+    }
+
+    @Test
+    void importItems_whenUserNotFound_thenNotFoundException() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> importService.importItems(99L, TEXT_CSV, body("name,description,available")));
+        verify(itemRepository, never()).insertAll(any());
+    }
+
+    @Test
+    void importItems_whenCsvWithoutRequestColumn_thenRequestIsNull() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+
+        final ItemImportResult result = importService.importItems(owner.getId(), TEXT_CSV,
+                body("name,description,available", "Дрель,Простая дрель,TRUE"));
+
+        assertEquals(1, result.getImported());
+        assertTrue(result.getErrors().isEmpty());
+        final ArgumentCaptor<List<Item>> batches = captureBatches(1);
+        assertNull(batches.getValue().get(0).getRequest());
+        assertTrue(batches.getValue().get(0).isAvailable());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<List<Item>> captureBatches(int count) {
+        final ArgumentCaptor<List<Item>> batches = ArgumentCaptor.forClass(List.class);
+        verify(itemRepository, times(count)).insertAll(batches.capture());
+        return batches;
+    }
+
+    private static InputStream body(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -7,12 +7,19 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +34,10 @@ class ItemRepositoryTest {
     private ItemRepository itemRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private TestEntityManager entityManager;
 
     private List<User> users;
     private List<Item> items;
@@ -128,4 +139,172 @@ class ItemRepositoryTest {
                     itemListAssert.element(1).hasFieldOrPropertyWithValue("name", items.get(1).getName());
                 });
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllByRequestRequesterIdAndOwnerIdNot() {
+        final User requester = users.get(0);
+        final ItemRequest request = entityManager.persist(ItemRequest.builder()
+                .description("Нужна дрель")
+                .requester(requester)
+                .created(LocalDateTime.now())
+                .build());
+        final Item otherOwnerItem = itemRepository.save(Item.builder()
+                .name("Дрель").description("Простая дрель").available(true).owner(users.get(1)).request(request).build());
+        itemRepository.save(Item.builder()
+                .name("Дрель").description("Своя дрель").available(true).owner(requester).request(request).build());
+
+        assertThat(itemRepository.findAllByRequestRequesterIdAndOwnerIdNot(requester.getId(), requester.getId()))
+                .extracting(Item::getId)
+                .containsExactly(otherOwnerItem.getId());
+        assertThat(itemRepository.findAllByRequestRequesterIdAndOwnerIdNot(users.get(1).getId(), users.get(1).getId()))
+                .isEmpty();
+    }
+
+    @Test
+    void refreshBookingPointers() {
+        final Item item = items.get(0);
+        final User booker = users.get(1);
+        final LocalDateTime currentTime = LocalDateTime.now();
+        approved(booker, item, currentTime.minusDays(5), currentTime.minusDays(4));
+        final Booking last = approved(booker, item, currentTime.minusDays(2), currentTime.minusDays(1));
+        final Booking next = approved(booker, item, currentTime.plusDays(1), currentTime.plusDays(2));
+        approved(booker, item, currentTime.plusDays(4), currentTime.plusDays(5));
+        entityManager.flush();
+
+        assertThat(itemRepository.refreshBookingPointers(List.of(item.getId()), currentTime)).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(itemRepository.findWithBookingsById(item.getId()))
+                .hasValueSatisfying(actual -> {
+                    assertThat(actual.getLastBooking()).hasFieldOrPropertyWithValue("id", last.getId());
+                    assertThat(actual.getNextBooking()).hasFieldOrPropertyWithValue("id", next.getId());
+                });
+    }
+
+    @Test
+    void rollBookingPointers_whenNextBookingStarted() {
+        final Item item = items.get(0);
+        final Item otherItem = items.get(1);
+        final User booker = users.get(2);
+        final LocalDateTime currentTime = LocalDateTime.now();
+        final Booking started = approved(booker, item, currentTime.plusHours(1), currentTime.plusDays(1));
+        final Booking next = approved(booker, item, currentTime.plusDays(2), currentTime.plusDays(3));
+        final Booking otherNext = approved(booker, otherItem, currentTime.plusDays(2), currentTime.plusDays(3));
+        entityManager.flush();
+        itemRepository.refreshBookingPointers(List.of(item.getId(), otherItem.getId()), currentTime);
+
+        final LocalDateTime later = currentTime.plusHours(2);
+        assertThat(itemRepository.rollBookingPointers(later)).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(itemRepository.findWithBookingsById(item.getId()))
+                .hasValueSatisfying(actual -> {
+                    assertThat(actual.getLastBooking()).hasFieldOrPropertyWithValue("id", started.getId());
+                    assertThat(actual.getNextBooking()).hasFieldOrPropertyWithValue("id", next.getId());
+                });
+        assertThat(itemRepository.findWithBookingsById(otherItem.getId()))
+                .hasValueSatisfying(actual -> {
+                    assertThat(actual.getLastBooking()).isNull();
+                    assertThat(actual.getNextBooking()).hasFieldOrPropertyWithValue("id", otherNext.getId());
+                });
+    }
+
+    @Test
+    void refreshBookingPointers_whenBookerDeleted_thenOtherBookingsShown() {
+        final Item item = items.get(0);
+        final User deletedBooker = users.get(1);
+        final LocalDateTime currentTime = LocalDateTime.now();
+        final Booking last = approved(users.get(2), item, currentTime.minusDays(4), currentTime.minusDays(3));
+        approved(deletedBooker, item, currentTime.minusDays(2), currentTime.minusDays(1));
+        approved(deletedBooker, item, currentTime.plusDays(1), currentTime.plusDays(2));
+        final Booking next = approved(users.get(2), item, currentTime.plusDays(3), currentTime.plusDays(4));
+        entityManager.flush();
+        itemRepository.refreshBookingPointers(List.of(item.getId()), currentTime);
+
+        final List<Long> itemIds = itemRepository.findIdsByBookingPointerBooker(deletedBooker.getId());
+        entityManager.clear();
+        userRepository.deleteById(deletedBooker.getId());
+        entityManager.flush();
+        itemRepository.refreshBookingPointers(itemIds, currentTime);
+        entityManager.clear();
+
+        assertThat(itemIds).containsExactly(item.getId());
+        assertThat(itemRepository.findWithBookingsById(item.getId()))
+                .hasValueSatisfying(actual -> {
+                    assertThat(actual.getLastBooking()).hasFieldOrPropertyWithValue("id", last.getId());
+                    assertThat(actual.getNextBooking()).hasFieldOrPropertyWithValue("id", next.getId());
+                });
+    }
+
+    @Test
+    void incrementCommentCount() {
+        final Item item = items.get(0);
+
+        itemRepository.incrementCommentCount(item.getId());
+        itemRepository.incrementCommentCount(item.getId());
+        entityManager.clear();
+
+        assertThat(itemRepository.findById(item.getId()))
+                .hasValueSatisfying(actual -> assertThat(actual.getCommentCount()).isEqualTo(2));
+        assertThat(itemRepository.findById(items.get(1).getId()))
+                .hasValueSatisfying(actual -> assertThat(actual.getCommentCount()).isZero());
+    }
+
+    @Test
+    void decrementCommentCountsByAuthor() {
+        final User author = users.get(2);
+        addComment(items.get(0), author);
+        addComment(items.get(0), author);
+        addComment(items.get(0), users.get(1));
+        addComment(items.get(1), author);
+
+        assertThat(itemRepository.decrementCommentCountsByAuthor(author.getId())).isEqualTo(2);
+        entityManager.clear();
+
+        assertThat(itemRepository.findById(items.get(0).getId()))
+                .hasValueSatisfying(actual -> assertThat(actual.getCommentCount()).isEqualTo(1));
+        assertThat(itemRepository.findById(items.get(1).getId()))
+                .hasValueSatisfying(actual -> assertThat(actual.getCommentCount()).isZero());
+    }
+
+    @Test
+    void insertAll() {
+        final List<Item> newItems = List.of(
+                Item.builder().name("Пила").description("Ножовка по дереву").available(true).owner(users.get(1)).build(),
+                Item.builder().name("Лестница").description("Стремянка").available(false).owner(users.get(1)).build()
+        );
+
+        itemRepository.insertAll(newItems);
+
+        for (Item newItem : newItems) {
+            assertThat(newItem.getId()).isPositive();
+            assertThat(itemRepository.findById(newItem.getId()))
+                    .hasValueSatisfying(item -> {
+                        assertThat(item).hasFieldOrPropertyWithValue("name", newItem.getName());
+                        assertThat(item).hasFieldOrPropertyWithValue("available", newItem.isAvailable());
+                        assertThat(item.getOwner()).hasFieldOrPropertyWithValue("id", users.get(1).getId());
+                        assertThat(item.getRequest()).isNull();
+                    });
+        }
+    }
+
+    private Booking approved(User booker, Item item, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(BookingStatus.APPROVED)
+                .build());
+    }
+
+    private void addComment(Item item, User author) {
+        entityManager.persist(Comment.builder()
+                .item(item)
+                .author(author)
+                .text("Comment")
+                .created(LocalDateTime.now())
+                .build());
+        itemRepository.incrementCommentCount(item.getId());
+    }
+}
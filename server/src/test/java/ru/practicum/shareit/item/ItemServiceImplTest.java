@@ -7,18 +7,19 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.dto.BookingMapping;
-import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.RequestException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentDtoPage;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
 import ru.practicum.shareit.item.dto.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -26,26 +27,33 @@ import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -55,10 +63,10 @@ import static ru.practicum.shareit.TestInitDataUtil.makeItem;
 import static ru.practicum.shareit.TestInitDataUtil.makeUser;
 import static ru.practicum.shareit.booking.enums.BookingStatus.APPROVED;
 import static ru.practicum.shareit.booking.enums.BookingStatus.WAITING;
+import static ru.practicum.shareit.util.Constants.LATEST_COMMENTS_SIZE;
 import static ru.practicum.shareit.util.Constants.MSG_ITEM_WITH_ID_NOT_FOUND;
 import static ru.practicum.shareit.util.Constants.MSG_USER_WITH_ID_NOT_FOUND;
 import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ACS;
-import static ru.practicum.shareit.util.Constants.SORT_BY_START_ASC;
 
 @ExtendWith(MockitoExtension.class)
 class ItemServiceImplTest {
@@ -75,6 +83,16 @@ class ItemServiceImplTest {
     private ItemRequestRepository itemRequestRepository;
     @Mock
     private UserService userService;
+    @Mock
+    private ItemSearchEngine searchEngine;
+    @Mock
+    private ItemSearchCache searchCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ItemSuggestIndex suggestIndex;
+    @Spy
+    private ItemViewCache viewCache = new ItemViewCache(0);
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -130,48 +148,109 @@ class ItemServiceImplTest {
         final long expectedUserId = expectedUser.getId();
 
         when(userService.existUser(anyLong())).thenReturn(true);
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(expectedItem));
+        when(itemRepository.findWithBookingsById(anyLong())).thenReturn(Optional.of(expectedItem));
 
 
         final ItemDtoResponse actualItem = itemService.getById(expectedItemId, expectedUserId);
 
         assertEquals(expectedItemDto, actualItem);
         verify(userService, times(1)).existUser(expectedItemId);
-        verify(itemRepository, times(1)).findById(expectedItemId);
-        verify(bookingRepository, times(1)).findByItemIdAndOwnerAndStatus(expectedItemId, expectedUserId, BookingStatus.APPROVED, SORT_BY_START_ASC);
-        verify(commentRepository, times(1)).findAllByItemId(expectedItemId);
+        verify(itemRepository, times(1)).findWithBookingsById(expectedItemId);
+        verify(bookingRepository, never()).findLastAndNextApprovedByItemIdIn(any(), any(LocalDateTime.class));
+        verify(commentRepository, never()).findLatestByItemId(anyLong(), any());
     }
 
     @Test
     void getById_withBooking() {
         Item expectedItem = itemList.get(0);
-
+        expectedItem.setLastBooking(bookingList.get(0));
+        expectedItem.setNextBooking(bookingList.get(1));
 
         User expectedUser = userList.get(0);
         final long expectedItemId = expectedItem.getId();
         final long expectedUserId = expectedUser.getId();
-        final List<Booking> bookings = List.of(bookingList.get(0), bookingList.get(1), bookingList.get(1));
-        final List<BookingDtoResponse> bookingsDto = BookingMapping.toListDto(bookings);
 
         ItemDtoResponse expectedItemDto = ItemMapper.toItemDto(
                 expectedItem,
-                BookingMapping.toShortDto(bookingsDto.get(0)),
-                BookingMapping.toShortDto(bookingsDto.get(1)),
+                BookingMapping.toShortDto(bookingList.get(0)),
+                BookingMapping.toShortDto(bookingList.get(1)),
                 Collections.emptyList()
         );
         when(userService.existUser(anyLong())).thenReturn(true);
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(expectedItem));
-        when(bookingRepository.findByItemIdAndOwnerAndStatus(anyLong(), anyLong(), any(BookingStatus.class), any(Sort.class)))
-                .thenReturn(bookings);
+        when(itemRepository.findWithBookingsById(anyLong())).thenReturn(Optional.of(expectedItem));
 
         final ItemDtoResponse actualItem = itemService.getById(expectedItemId, expectedUserId);
 
         assertEquals(expectedItemDto, actualItem);
 
         verify(userService, times(1)).existUser(expectedItemId);
-        verify(itemRepository, times(1)).findById(expectedItemId);
-        verify(bookingRepository, times(1)).findByItemIdAndOwnerAndStatus(expectedItemId, expectedUserId, BookingStatus.APPROVED, SORT_BY_START_ASC);
-        verify(commentRepository, times(1)).findAllByItemId(expectedItemId);
+        verify(itemRepository, times(1)).findWithBookingsById(expectedItemId);
+        verify(bookingRepository, never()).findLastAndNextApprovedByItemIdIn(any(), any(LocalDateTime.class));
+        verify(commentRepository, never()).findLatestByItemId(anyLong(), any());
+    }
+
+    @Test
+    void getById_withBooking_whenNotOwner_thenWithoutBooking() {
+        Item expectedItem = itemList.get(0);
+        expectedItem.setLastBooking(bookingList.get(0));
+        expectedItem.setNextBooking(bookingList.get(1));
+        ItemDtoResponse expectedItemDto = ItemMapper.toItemDto(expectedItem);
+        expectedItemDto.setComments(Collections.emptyList());
+
+        final long expectedItemId = expectedItem.getId();
+        final long userId = userList.get(1).getId();
+
+        when(userService.existUser(anyLong())).thenReturn(true);
+        when(itemRepository.findWithBookingsById(anyLong())).thenReturn(Optional.of(expectedItem));
+
+        final ItemDtoResponse actualItem = itemService.getById(expectedItemId, userId);
+
+        assertEquals(expectedItemDto, actualItem);
+        verify(bookingRepository, never()).findLastAndNextApprovedByItemIdIn(any(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getById_whenNextBookingStarted_thenRecalculated() {
+        Item expectedItem = itemList.get(0);
+        final Booking started = bookingList.get(0);
+        expectedItem.setNextBooking(started);
+
+        final long expectedItemId = expectedItem.getId();
+        final long expectedUserId = userList.get(0).getId();
+
+        ItemDtoResponse expectedItemDto = ItemMapper.toItemDto(
+                expectedItem,
+                BookingMapping.toShortDto(started),
+                null,
+                Collections.emptyList()
+        );
+        when(userService.existUser(anyLong())).thenReturn(true);
+        when(itemRepository.findWithBookingsById(anyLong())).thenReturn(Optional.of(expectedItem));
+        when(bookingRepository.findLastAndNextApprovedByItemIdIn(any(), any(LocalDateTime.class)))
+                .thenReturn(List.of(started));
+
+        final ItemDtoResponse actualItem = itemService.getById(expectedItemId, expectedUserId);
+
+        assertEquals(expectedItemDto, actualItem);
+        verify(bookingRepository, times(1)).findLastAndNextApprovedByItemIdIn(eq(List.of(expectedItemId)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getById_withComments_thenLatestEmbedded() {
+        final Item expectedItem = itemList.get(0);
+        expectedItem.setCommentCount(7);
+        final Comment comment = makeComment(1L, expectedItem, userList.get(1), LocalDateTime.now());
+
+        when(userService.existUser(anyLong())).thenReturn(true);
+        when(itemRepository.findWithBookingsById(anyLong())).thenReturn(Optional.of(expectedItem));
+        when(commentRepository.findLatestByItemId(anyLong(), any())).thenReturn(List.of(comment));
+
+        final ItemDtoResponse actualItem = itemService.getById(expectedItem.getId(), userList.get(1).getId());
+
+        assertEquals(List.of(CommentMapper.toDto(comment)), actualItem.getComments());
+        assertEquals(7, actualItem.getCommentCount());
+        verify(commentRepository, times(1))
+                .findLatestByItemId(expectedItem.getId(), PageRequest.of(0, LATEST_COMMENTS_SIZE));
     }
 
     @Test
@@ -186,9 +265,9 @@ class ItemServiceImplTest {
                 () -> itemService.getById(expectedItemId, 5L));
 
         verify(userService, times(1)).existUser(5L);
-        verify(itemRepository, never()).findById(expectedItemId);
-        verify(bookingRepository, never()).findByItemIdAndOwnerAndStatus(expectedItemId, expectedOwnerId, BookingStatus.APPROVED, SORT_BY_START_ASC);
-        verify(commentRepository, never()).findAllByItemId(expectedItemId);
+        verify(itemRepository, never()).findWithBookingsById(expectedItemId);
+        verify(bookingRepository, never()).findLastAndNextApprovedByItemIdIn(any(), any(LocalDateTime.class));
+        verify(commentRepository, never()).findLatestByItemId(anyLong(), any());
     }
 
     @Test
@@ -198,7 +277,7 @@ class ItemServiceImplTest {
         final long expectedOwnerId = expectedItem.getOwner().getId();
 
         when(userService.existUser(anyLong())).thenReturn(true);
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(itemRepository.findWithBookingsById(anyLong())).thenReturn(Optional.empty());
 
         final NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> itemService.getById(expectedItemId, expectedOwnerId));
@@ -206,9 +285,9 @@ class ItemServiceImplTest {
         assertEquals(String.format(MSG_ITEM_WITH_ID_NOT_FOUND, expectedItemId), exception.getMessage());
 
         verify(userService, times(1)).existUser(expectedOwnerId);
-        verify(itemRepository, times(1)).findById(expectedItemId);
-        verify(bookingRepository, never()).findByItemIdAndOwnerAndStatus(expectedItemId, expectedOwnerId, BookingStatus.APPROVED, SORT_BY_START_ASC);
-        verify(commentRepository, never()).findAllByItemId(expectedItemId);
+        verify(itemRepository, times(1)).findWithBookingsById(expectedItemId);
+        verify(bookingRepository, never()).findLastAndNextApprovedByItemIdIn(any(), any(LocalDateTime.class));
+        verify(commentRepository, never()).findLatestByItemId(anyLong(), any());
     }
 
     @Test
@@ -237,6 +316,7 @@ class ItemServiceImplTest {
         verify(userRepository, times(1)).findById(expectedUserId);
         verify(itemRepository, times(1)).save(expectedItem);
         verify(itemRequestRepository, never()).findById(1L);
+        verify(eventPublisher, times(1)).publishEvent(ItemChangedEvent.created(expectedItem));
     }
 
     @Test
@@ -331,9 +411,6 @@ class ItemServiceImplTest {
 
         when(userService.existUser(anyLong())).thenReturn(true);
         when(itemRepository.findAllByOwnerId(anyLong(), any(Sort.class))).thenReturn(expectedItemList);
-        when(bookingRepository.findAllByOwnerAndStatus(anyLong(), any(BookingStatus.class), any(Sort.class)))
-                .thenReturn(Collections.emptyList());
-        when(commentRepository.findAllByItemIn(any())).thenReturn(Collections.emptyList());
 
         final Collection<ItemDtoResponse> actualItemListByOwner = itemService.getAllByOwner(expectedOwnerId, null);
 
@@ -341,8 +418,64 @@ class ItemServiceImplTest {
 
         verify(userService, times(1)).existUser(expectedOwnerId);
         verify(itemRepository, times(1)).findAllByOwnerId(expectedOwnerId, SORT_BY_ID_ACS);
-        verify(bookingRepository, times(1)).findAllByOwnerAndStatus(expectedOwnerId, BookingStatus.APPROVED, SORT_BY_START_ASC);
-        verify(commentRepository, times(1)).findAllByItemIn(expectedItemList);
+        verify(bookingRepository, never()).findLastAndNextApprovedByItemIdIn(any(), any(LocalDateTime.class));
+        verify(commentRepository, never()).findLatestByItemIdIn(any(), anyLong());
+    }
+
+    @Test
+    void getAllByOwner_withComments_thenLatestLoadedForCommentedItems() {
+        final long ownerId = userList.get(1).getId();
+        final Item commentedItem = itemList.get(2);
+        commentedItem.setCommentCount(1);
+        final Comment comment = makeComment(1L, commentedItem, userList.get(0), LocalDateTime.now());
+
+        when(userService.existUser(anyLong())).thenReturn(true);
+        when(itemRepository.findAllByOwnerId(anyLong(), any(Sort.class)))
+                .thenReturn(List.of(itemList.get(1), commentedItem));
+        when(commentRepository.findLatestByItemIdIn(any(), anyLong())).thenReturn(List.of(comment));
+
+        final List<ItemDtoResponse> actualItems = List.copyOf(itemService.getAllByOwner(ownerId, null));
+
+        assertTrue(actualItems.get(0).getComments().isEmpty());
+        assertEquals(List.of(CommentMapper.toDto(comment)), actualItems.get(1).getComments());
+        assertEquals(1, actualItems.get(1).getCommentCount());
+        verify(commentRepository, times(1)).findLatestByItemIdIn(List.of(commentedItem.getId()), LATEST_COMMENTS_SIZE);
+    }
+
+    @Test
+    void getAllByOwner_withLastAndNextBooking() {
+        final User expectedUser = userList.get(1);
+        final long expectedOwnerId = expectedUser.getId();
+        final LocalDateTime currentTime = LocalDateTime.now();
+        final Booking lastBooking = makeBooking(7L, itemList.get(1), userList.get(0),
+                currentTime.minusDays(3), currentTime.minusDays(2), APPROVED);
+        final Booking nextBooking = makeBooking(8L, itemList.get(1), userList.get(2),
+                currentTime.plusDays(2), currentTime.plusDays(3), APPROVED);
+        final Booking startedBooking = makeBooking(9L, itemList.get(2), userList.get(0),
+                currentTime.minusHours(1), currentTime.plusDays(1), APPROVED);
+        itemList.get(1).setLastBooking(lastBooking);
+        itemList.get(1).setNextBooking(nextBooking);
+        itemList.get(2).setNextBooking(startedBooking);
+        final List<Item> expectedItemList = List.of(itemList.get(1), itemList.get(2));
+        final List<ItemDtoResponse> expectedItemDtoList = List.of(
+                ItemMapper.toItemDto(itemList.get(1),
+                        BookingMapping.toShortDto(lastBooking),
+                        BookingMapping.toShortDto(nextBooking),
+                        Collections.emptyList()),
+                ItemMapper.toItemDto(itemList.get(2),
+                        BookingMapping.toShortDto(startedBooking),
+                        null,
+                        Collections.emptyList()));
+
+        when(userService.existUser(anyLong())).thenReturn(true);
+        when(itemRepository.findAllByOwnerId(anyLong(), any(Sort.class))).thenReturn(expectedItemList);
+        when(bookingRepository.findLastAndNextApprovedByItemIdIn(any(), any(LocalDateTime.class)))
+                .thenReturn(List.of(startedBooking));
+
+        final Collection<ItemDtoResponse> actualItemListByOwner = itemService.getAllByOwner(expectedOwnerId, null);
+
+        assertEquals(expectedItemDtoList, actualItemListByOwner);
+        verify(bookingRepository, times(1)).findLastAndNextApprovedByItemIdIn(eq(List.of(3L)), any(LocalDateTime.class));
     }
 
     @Test
@@ -359,9 +492,6 @@ class ItemServiceImplTest {
         when(userService.existUser(anyLong())).thenReturn(true);
         when(itemRepository.findAllByOwnerId(anyLong(), any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(expectedItemList));
-        when(bookingRepository.findAllByOwnerAndStatus(anyLong(), any(BookingStatus.class), any(Sort.class)))
-                .thenReturn(Collections.emptyList());
-        when(commentRepository.findAllByItemIn(any())).thenReturn(Collections.emptyList());
 
         final Collection<ItemDtoResponse> actualItemListByOwner = itemService.getAllByOwner(expectedOwnerId, page);
 
@@ -369,8 +499,8 @@ class ItemServiceImplTest {
 
         verify(userService, times(1)).existUser(expectedOwnerId);
         verify(itemRepository, times(1)).findAllByOwnerId(expectedOwnerId, page);
-        verify(bookingRepository, times(1)).findAllByOwnerAndStatus(expectedOwnerId, BookingStatus.APPROVED, SORT_BY_START_ASC);
-        verify(commentRepository, times(1)).findAllByItemIn(expectedItemList);
+        verify(bookingRepository, never()).findLastAndNextApprovedByItemIdIn(any(), any(LocalDateTime.class));
+        verify(commentRepository, never()).findLatestByItemIdIn(any(), anyLong());
     }
 
     @Test
@@ -388,8 +518,8 @@ class ItemServiceImplTest {
 
         verify(userService, times(1)).existUser(expectedOwnerId);
         verify(itemRepository, times(1)).findAllByOwnerId(expectedOwnerId, SORT_BY_ID_ACS);
-        verify(bookingRepository, never()).findAllByOwnerAndStatus(expectedOwnerId, BookingStatus.APPROVED, SORT_BY_START_ASC);
-        verify(commentRepository, never()).findAllByItemIn(Collections.emptyList());
+        verify(bookingRepository, never()).findLastAndNextApprovedByItemIdIn(any(), any(LocalDateTime.class));
+        verify(commentRepository, never()).findLatestByItemIdIn(any(), anyLong());
     }
 
     @Test
@@ -402,8 +532,8 @@ class ItemServiceImplTest {
 
         verify(userService, times(1)).existUser(5);
         verify(itemRepository, never()).findAllByOwnerId(5L, SORT_BY_ID_ACS);
-        verify(bookingRepository, never()).findAllByOwnerAndStatus(ownerId, BookingStatus.APPROVED, SORT_BY_START_ASC);
-        verify(commentRepository, never()).findAllByItemIn(Collections.emptyList());
+        verify(bookingRepository, never()).findLastAndNextApprovedByItemIdIn(any(), any(LocalDateTime.class));
+        verify(commentRepository, never()).findLatestByItemIdIn(any(), anyLong());
     }
 
     @ParameterizedTest
@@ -450,6 +580,7 @@ class ItemServiceImplTest {
         verify(userService, times(1)).existUser(userId);
         verify(itemRepository, times(1)).findByIdAndOwnerId(item.getId(), userId);
         verify(itemRepository, times(1)).save(expectedItem);
+        verify(eventPublisher, times(1)).publishEvent(any(ItemChangedEvent.class));
     }
 
     @Test
@@ -497,7 +628,8 @@ class ItemServiceImplTest {
     @Test
     void search() {
         String text = "item2";
-        when(itemRepository.findAllByNameOrDescriptionIgnoreCase(text, SORT_BY_ID_ACS))
+        searchWithoutCache();
+        when(searchEngine.search(text, null))
                 .thenReturn(List.of(itemList.get(1), itemList.get(2)));
 
         final List<ItemDtoResponse> foundedItems = itemService.search(text, null);
@@ -507,15 +639,16 @@ class ItemServiceImplTest {
         assertEquals(ItemMapper.toItemDto(itemList.get(1)), foundedItems.get(0));
         assertEquals(ItemMapper.toItemDto(itemList.get(2)), foundedItems.get(1));
 
-        verify(itemRepository, times(1)).findAllByNameOrDescriptionIgnoreCase(text, SORT_BY_ID_ACS);
+        verify(searchEngine, times(1)).search(text, null);
     }
 
     @Test
     void search_Pagination() {
         String text = "item2";
         PageRequest page = PageRequest.of(0, 1, SORT_BY_ID_ACS);
-        when(itemRepository.findAllByNameOrDescriptionIgnoreCase(anyString(), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(List.of(itemList.get(1))));
+        searchWithoutCache();
+        when(searchEngine.search(anyString(), any(PageRequest.class)))
+                .thenReturn(List.of(itemList.get(1)));
 
         final List<ItemDtoResponse> foundedItems = itemService.search(text, page);
 
@@ -523,20 +656,34 @@ class ItemServiceImplTest {
         assertEquals(1, foundedItems.size());
         assertEquals(ItemMapper.toItemDto(itemList.get(1)), foundedItems.get(0));
 
-        verify(itemRepository, times(1)).findAllByNameOrDescriptionIgnoreCase(text, page);
+        verify(searchEngine, times(1)).search(text, page);
     }
 
     @Test
     void search_Pagination_EmptyList() {
         String text = "item2";
         PageRequest page = PageRequest.of(1, 3, SORT_BY_ID_ACS);
-        when(itemRepository.findAllByNameOrDescriptionIgnoreCase(anyString(), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(Collections.emptyList()));
+        searchWithoutCache();
+        when(searchEngine.search(anyString(), any(PageRequest.class)))
+                .thenReturn(Collections.emptyList());
 
         final List<ItemDtoResponse> foundedItems = itemService.search(text, page);
 
         assertTrue(foundedItems.isEmpty());
-        verify(itemRepository, times(1)).findAllByNameOrDescriptionIgnoreCase(text, page);
+        verify(searchEngine, times(1)).search(text, page);
+    }
+
+    private void searchWithoutCache() {
+        when(searchCache.get(anyString(), any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<List<ItemDtoResponse>>>getArgument(2).get());
+    }
+
+    @Test
+    void suggest_whenSizeTooBig_thenLimited() {
+        when(suggestIndex.suggest("отв", ItemSuggestIndex.MAX_SUGGESTIONS)).thenReturn(List.of("отвертка"));
+
+        assertEquals(List.of("отвертка"), itemService.suggest("отв", 100));
+        verify(suggestIndex, times(1)).suggest("отв", ItemSuggestIndex.MAX_SUGGESTIONS);
     }
 
     @Test
@@ -568,6 +715,64 @@ class ItemServiceImplTest {
         final CommentDtoResponse actualComment = itemService.addComment(expectedUserId, expectedItemId, commentDto);
 
         assertEquals(CommentMapper.toDto(expectedComment), actualComment);
+        verify(itemRepository, times(1)).incrementCommentCount(expectedItemId);
+        verify(viewCache, times(1)).evict(expectedItemId);
+        verify(searchCache, times(1)).evictItem(expectedItemId);
+    }
+
+    @Test
+    void getComments_whenMoreThanPage_thenNextCursor() {
+        final Item item = itemList.get(0);
+        final LocalDateTime created = LocalDateTime.now();
+        final List<Comment> comments = List.of(
+                makeComment(3L, item, userList.get(1), created),
+                makeComment(2L, item, userList.get(2), created.minusHours(1)),
+                makeComment(1L, item, userList.get(1), created.minusHours(2)));
+        when(itemRepository.existsById(anyLong())).thenReturn(true);
+        when(commentRepository.findLatestByItemId(anyLong(), any())).thenReturn(comments);
+
+        final CommentDtoPage page = itemService.getComments(item.getId(), null, 2);
+
+        assertEquals(List.of(CommentMapper.toDto(comments.get(0)), CommentMapper.toDto(comments.get(1))),
+                page.getComments());
+        assertEquals(new PageCursor(created.minusHours(1), 2L).encode(), page.getNext());
+        verify(commentRepository, times(1)).findLatestByItemId(item.getId(), PageRequest.of(0, 3));
+    }
+
+    @Test
+    void getComments_withCursor_thenLastPage() {
+        final Item item = itemList.get(0);
+        final LocalDateTime created = LocalDateTime.now();
+        final Comment comment = makeComment(1L, item, userList.get(1), created.minusHours(2));
+        final PageCursor cursor = new PageCursor(created.minusHours(1), 2L);
+        when(itemRepository.existsById(anyLong())).thenReturn(true);
+        when(commentRepository.findByItemIdAfter(anyLong(), any(), anyLong(), any())).thenReturn(List.of(comment));
+
+        final CommentDtoPage page = itemService.getComments(item.getId(), cursor.encode(), 2);
+
+        assertEquals(List.of(CommentMapper.toDto(comment)), page.getComments());
+        assertNull(page.getNext());
+        verify(commentRepository, times(1))
+                .findByItemIdAfter(item.getId(), cursor.getTime(), cursor.getId(), PageRequest.of(0, 3));
+    }
+
+    @Test
+    void getComments_whenItemNotExist_thenNotFound() {
+        when(itemRepository.existsById(anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemService.getComments(99L, null, 20));
+
+        verify(commentRepository, never()).findLatestByItemId(anyLong(), any());
+    }
+
+    private Comment makeComment(long id, Item item, User author, LocalDateTime created) {
+        return Comment.builder()
+                .id(id)
+                .item(item)
+                .author(author)
+                .text("Comment " + id)
+                .created(created)
+                .build();
     }
 
     @Test
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserDeletedEvent;
+import ru.practicum.shareit.user.UserRenamedEvent;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ItemViewCacheTest {
+    private final long itemId = 1L;
+    private final long ownerId = 1L;
+    private final AtomicInteger loads = new AtomicInteger();
+    private ItemViewCache viewCache;
+    private LocalDateTime currentTime;
+
+    @BeforeEach
+    void setUp() {
+        viewCache = new ItemViewCache(10);
+        currentTime = LocalDateTime.now();
+    }
+
+    @Test
+    void get_whenCached_thenLoadedOnce() {
+        final ItemView loaded = viewCache.get(itemId, currentTime, loader(null));
+        final ItemView cached = viewCache.get(itemId, currentTime, loader(null));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, viewCache.hitCount());
+        assertSame(loaded, cached);
+    }
+
+    @Test
+    void get_whenNextBookingStarted_thenReloaded() {
+        final LocalDateTime nextStart = currentTime.plusHours(1);
+        viewCache.get(itemId, currentTime, loader(nextStart));
+        viewCache.get(itemId, nextStart.minusSeconds(1), loader(nextStart));
+        viewCache.get(itemId, nextStart, loader(null));
+
+        assertEquals(2, loads.get());
+        assertEquals(1, viewCache.expirationCount());
+    }
+
+    @Test
+    void forUser_whenNotOwner_thenWithoutBookings() {
+        final ItemView view = viewCache.get(itemId, currentTime, loader(currentTime.plusHours(1)));
+
+        assertNotNull(view.forUser(ownerId).getNextBooking());
+        assertNull(view.forUser(ownerId + 1).getNextBooking());
+    }
+
+    @Test
+    void onItemChanged_whenUpdated_thenEvicted() {
+        final Item item = Item.builder().id(itemId).name("Дрель").description("Простая дрель").available(true).build();
+        viewCache.get(itemId, currentTime, loader(null));
+
+        viewCache.onItemChanged(ItemChangedEvent.updated(item, item.toBuilder().available(false).build()));
+        viewCache.get(itemId, currentTime, loader(null));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onUserDeleted_thenAllViewsDropped() {
+        final long otherItemId = 2L;
+        viewCache.get(itemId, currentTime, loader(null));
+        viewCache.get(otherItemId, currentTime, loader(null));
+
+        viewCache.onUserDeleted(new UserDeletedEvent(ownerId));
+
+        assertEquals(0, viewCache.size());
+        viewCache.get(itemId, currentTime, loader(null));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void onUserRenamed_thenAllViewsDropped() {
+        viewCache.get(itemId, currentTime, loader(null));
+
+        viewCache.onUserRenamed(new UserRenamedEvent(ownerId + 1));
+
+        assertEquals(0, viewCache.size());
+        viewCache.get(itemId, currentTime, loader(null));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_whenInTransaction_thenEvictedAfterCommit() {
+        viewCache.get(itemId, currentTime, loader(null));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            viewCache.evict(itemId);
+            viewCache.get(itemId, currentTime, loader(null));
+            assertEquals(1, loads.get());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        viewCache.get(itemId, currentTime, loader(null));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_whenEvictedWhileLoading_thenNotCached() {
+        viewCache.get(itemId, currentTime, () -> {
+            viewCache.evict(itemId);
+            return loader(null).get();
+        });
+        viewCache.get(itemId, currentTime, loader(null));
+
+        assertEquals(2, loads.get());
+    }
+
+    private Supplier<ItemView> loader(LocalDateTime nextStart) {
+        return () -> {
+            loads.incrementAndGet();
+            final ItemDtoResponse publicView = ItemDtoResponse.builder().id(itemId).name("Дрель").build();
+            final ItemDtoResponse ownerView = publicView.toBuilder()
+                    .nextBooking(nextStart == null ? null : BookingDtoShort.builder().id(1L).start(nextStart).build())
+                    .build();
+            return new ItemView(ownerId, ownerView, publicView, nextStart);
+        };
+    }
+}
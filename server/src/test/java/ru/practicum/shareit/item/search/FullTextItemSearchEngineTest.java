@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestInitDataUtil.getUserList;
+import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ACS;
+
+@DataJpaTest
+@Import(FullTextItemSearchEngine.class)
+@TestPropertySource(properties = "shareit.item.search.engine=fulltext")
+class FullTextItemSearchEngineTest {
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemSearchEngine searchEngine;
+
+    private Item drill;
+    private Item screwdriver;
+
+    @BeforeEach
+    void init() {
+        final List<User> users = getUserList(userRepository);
+        drill = addItem("Дрель", "Простая дрель", true, users.get(0));
+        screwdriver = addItem("Отвертка", "Аккумуляторная отвертка, дрель-шуруповерт", true, users.get(1));
+        addItem("Отвертка крестовая", "Недоступна", false, users.get(1));
+        itemRepository.flush();
+    }
+
+    @Test
+    void search_byWordPrefixIgnoreCase() {
+        assertThat(searchEngine.search("оТверТ", null)).containsExactly(screwdriver);
+        assertThat(searchEngine.search("дрел", null)).containsExactly(drill, screwdriver);
+    }
+
+    @Test
+    void search_whenSeveralWords_thenAllMustMatch() {
+        assertThat(searchEngine.search("аккумуляторная дрель", null)).containsExactly(screwdriver);
+        assertThat(searchEngine.search("простая отвертка", null)).isEmpty();
+    }
+
+    @Test
+    void search_whenInsideWord_thenNotFound() {
+        assertThat(searchEngine.search("ертк", null)).isEmpty();
+    }
+
+    @Test
+    void search_whenOnlyDelimiters_thenEmpty() {
+        assertThat(searchEngine.search(" ,.- ", null)).isEmpty();
+    }
+
+    @Test
+    void search_Pagination() {
+        assertThat(searchEngine.search("дрель", PageRequest.of(1, 1, SORT_BY_ID_ACS))).containsExactly(screwdriver);
+    }
+
+    private Item addItem(String name, String description, boolean available, User owner) {
+        return itemRepository.save(Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build());
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemDeletedEvent;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.TestInitDataUtil.makeItem;
+import static ru.practicum.shareit.TestInitDataUtil.makeUser;
+import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ACS;
+
+@ExtendWith(MockitoExtension.class)
+class InvertedIndexItemSearchEngineTest {
+    @Mock
+    private ItemRepository itemRepository;
+    @InjectMocks
+    private InvertedIndexItemSearchEngine searchEngine;
+
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        final User owner = makeUser(1L, "Jon", "jon@mail.ru");
+        items = List.of(
+                makeItem(1L, "Дрель", "Простая дрель", true, owner, null),
+                makeItem(2L, "Отвертка", "Аккумуляторная отвертка, дрель-шуруповерт", true, owner, null),
+                makeItem(3L, "Отвертка крестовая", "Недоступна", false, owner, null)
+        );
+        when(itemRepository.findAllByIdGreaterThan(eq(0L), any())).thenReturn(items);
+        searchEngine.rebuild();
+    }
+
+    @Test
+    void findIds_byWordPrefixIgnoreCase() {
+        assertEquals(List.of(2L), searchEngine.findIds("оТверТ", null));
+        assertEquals(List.of(1L, 2L), searchEngine.findIds("дрел", null));
+        assertEquals(List.of(2L), searchEngine.findIds("аккумуляторная дрель", null));
+        assertTrue(searchEngine.findIds("ертк", null).isEmpty());
+        assertTrue(searchEngine.findIds(" ,. ", null).isEmpty());
+    }
+
+    @Test
+    void findIds_Pagination() {
+        assertEquals(List.of(2L), searchEngine.findIds("дрель", PageRequest.of(1, 1, SORT_BY_ID_ACS)));
+    }
+
+    @Test
+    void onItemChanged_whenCreated_thenFound() {
+        final Item item = makeItem(4L, "Пила", "Ножовка", true, items.get(0).getOwner(), null);
+        searchEngine.onItemChanged(ItemChangedEvent.created(item));
+
+        assertEquals(List.of(4L), searchEngine.findIds("пила", null));
+    }
+
+    @Test
+    void onItemChanged_whenUpdated_thenOldWordsRemoved() {
+        final Item previous = items.get(0).toBuilder().build();
+        final Item updated = items.get(0).toBuilder().name("Перфоратор").description("Мощный").build();
+        final int termCount = searchEngine.termCount();
+
+        searchEngine.onItemChanged(ItemChangedEvent.updated(previous, updated));
+
+        assertEquals(List.of(2L), searchEngine.findIds("дрель", null));
+        assertEquals(List.of(1L), searchEngine.findIds("перф", null));
+        assertEquals(termCount + 1, searchEngine.termCount());
+    }
+
+    @Test
+    void onItemChanged_whenAvailableChanged_thenFiltered() {
+        final Item previous = items.get(2).toBuilder().build();
+        final Item updated = items.get(2).toBuilder().available(true).build();
+        searchEngine.onItemChanged(ItemChangedEvent.updated(previous, updated));
+        assertEquals(List.of(2L, 3L), searchEngine.findIds("отвертка", null));
+
+        searchEngine.onItemChanged(ItemChangedEvent.updated(updated, items.get(1).toBuilder().available(false).build()));
+        assertEquals(List.of(3L), searchEngine.findIds("отвертка", null));
+    }
+
+    @Test
+    void onItemDeleted_thenNotFound() {
+        searchEngine.onItemDeleted(ItemDeletedEvent.of(items.get(0)));
+
+        assertEquals(List.of(2L), searchEngine.findIds("дрель", null));
+    }
+
+    @Test
+    void search_thenSinglePageLoaded() {
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(items.get(1), items.get(0)));
+
+        assertEquals(List.of(items.get(0), items.get(1)), searchEngine.search("дрель", null));
+    }
+
+    @Test
+    void search_whenNothingFound_thenNoQuery() {
+        assertEquals(Collections.emptyList(), searchEngine.search("молоток", null));
+        verify(itemRepository, never()).findAllById(any());
+        verify(itemRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void matches_whenAllWordsArePrefixes() {
+        assertTrue(searchEngine.matches("акк дрел", "Шуруповерт", "Аккумуляторная дрель"));
+        assertFalse(searchEngine.matches("дрель ударная", "Дрель", "Простая дрель"));
+        assertFalse(searchEngine.matches("  ", "Дрель", "Простая дрель"));
+    }
+}
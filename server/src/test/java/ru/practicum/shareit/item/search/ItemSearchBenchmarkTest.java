@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.TestInitDataUtil;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ACS;
+
+/**
+ * Compares substring and full-text item search on a large items table.
+ * Uses the configured datasource, so without the test profile it runs against PostgreSQL:
+ * {@code mvn test -Dtest=ItemSearchBenchmarkTest -Dbenchmark=true -Dbenchmark.items=1000000}
+ */
+@Slf4j
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ItemSearchBenchmarkTest {
+    private static final String[] WORDS = {"дрель", "отвертка", "пила", "молоток", "лестница", "палатка",
+            "велосипед", "шуруповерт", "перфоратор", "рюкзак", "фонарь", "удочка", "самокат", "лодка"};
+    private static final String[] QUERIES = {"дрель", "шуруп", "лодка надувная", "фонарь"};
+    private static final int BATCH_SIZE = 5_000;
+    private static final int RUNS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Value("${spring.sql.init.platform}")
+    private String platform;
+
+    @Test
+    void compareSearchEngines() {
+        final int itemCount = Integer.getInteger("benchmark.items", 1_000_000);
+        final User owner = TestInitDataUtil.getUserList(userRepository).get(0);
+        userRepository.flush();
+        insertItems(owner.getId(), itemCount);
+
+        final ItemSearchEngine substring = new SubstringItemSearchEngine(itemRepository);
+        final ItemSearchEngine fullText = new FullTextItemSearchEngine(entityManager, platform);
+        final PageRequest page = PageRequest.of(0, 20, SORT_BY_ID_ACS);
+        for (String text : QUERIES) {
+            log.info("'{}' on {} items: substring {} us, fulltext {} us", text, itemCount,
+                    measure(substring, text, page), measure(fullText, text, page));
+        }
+    }
+
+    private long measure(ItemSearchEngine engine, String text, PageRequest page) {
+        engine.search(text, page);
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            engine.search(text, page);
+            entityManager.clear();
+        }
+        return (System.nanoTime() - startTime) / 1000 / RUNS;
+    }
+
+    private void insertItems(long ownerId, int itemCount) {
+        final Random random = new Random(42);
+        final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < itemCount; i++) {
+            final String name = WORDS[random.nextInt(WORDS.length)] + " " + i;
+            final String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            batch.add(new Object[]{name, description, random.nextBoolean(), ownerId});
+            if (batch.size() == BATCH_SIZE || i == itemCount - 1) {
+                jdbcTemplate.batchUpdate(
+                        "insert into items (name, description, available, owner_id) values (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.execute(platform.equals("postgres") ? "analyze items" : "analyze");
+    }
+}
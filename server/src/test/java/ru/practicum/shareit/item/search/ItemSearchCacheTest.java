@@ -0,0 +1,153 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ACS;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchCacheTest {
+    @Mock
+    private ItemSearchEngine searchEngine;
+
+    private ItemSearchCache searchCache;
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Item item = Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true).build();
+
+    @BeforeEach
+    void setUp() {
+        searchCache = new ItemSearchCache(searchEngine, 2);
+    }
+
+    @Test
+    void get_whenSameTextInOtherCase_thenLoadedOnce() {
+        searchCache.get("Дрель", null, loader());
+        searchCache.get("дрель", null, loader());
+
+        assertEquals(1, loads.get());
+        assertEquals(1, searchCache.hitCount());
+        assertEquals(1, searchCache.missCount());
+    }
+
+    @Test
+    void get_whenOtherPage_thenLoaded() {
+        searchCache.get("дрель", PageRequest.of(0, 1, SORT_BY_ID_ACS), loader());
+        searchCache.get("дрель", PageRequest.of(1, 1, SORT_BY_ID_ACS), loader());
+        searchCache.get("дрель", null, loader());
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_whenSizeExceeded_thenLeastRecentlyUsedEvicted() {
+        searchCache.get("дрель", null, loader());
+        searchCache.get("отвертка", null, loader());
+        searchCache.get("дрель", null, loader());
+        searchCache.get("молоток", null, loader());
+        searchCache.get("дрель", null, loader());
+        searchCache.get("отвертка", null, loader());
+
+        assertEquals(4, loads.get());
+        assertEquals(2, searchCache.size());
+        assertEquals(2, searchCache.evictionCount());
+    }
+
+    @Test
+    void onItemChanged_whenMatchedTextCached_thenDropped() {
+        when(searchEngine.matches(anyString(), any(), any())).thenReturn(false);
+        when(searchEngine.matches(eq("дрель"), eq("Дрель"), any())).thenReturn(true);
+        searchCache.get("дрель", null, loader());
+        searchCache.get("отвертка", null, loader());
+
+        searchCache.onItemChanged(ItemChangedEvent.created(item));
+        searchCache.get("дрель", null, loader());
+        searchCache.get("отвертка", null, loader());
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void onItemChanged_whenPreviousTextMatched_thenDropped() {
+        when(searchEngine.matches(anyString(), any(), any())).thenReturn(false);
+        when(searchEngine.matches("дрель", "Дрель", "Простая дрель")).thenReturn(true);
+        searchCache.get("дрель", null, loader());
+
+        searchCache.onItemChanged(ItemChangedEvent.updated(item, item.toBuilder().name("Молоток").build()));
+        searchCache.get("дрель", null, loader());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onItemChanged_whenSearchableFieldsNotChanged_thenKept() {
+        searchCache.get("дрель", null, loader());
+
+        searchCache.onItemChanged(ItemChangedEvent.updated(item, item.toBuilder().build()));
+        searchCache.get("дрель", null, loader());
+
+        assertEquals(1, loads.get());
+        verify(searchEngine, never()).matches(anyString(), any(), any());
+    }
+
+    @Test
+    void get_whenItemChangedWhileLoading_thenNotCached() {
+        searchCache.get("дрель", null, () -> {
+            searchCache.onItemChanged(ItemChangedEvent.created(item));
+            return loader().get();
+        });
+        searchCache.get("дрель", null, loader());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictItem_thenOnlyResultsWithItemDropped() {
+        searchCache.get("дрель", null, loader());
+        searchCache.get("молоток", null, () -> {
+            loads.incrementAndGet();
+            return List.of(ItemDtoResponse.builder().id(2L).name("Молоток").build());
+        });
+
+        searchCache.evictItem(item.getId());
+
+        assertEquals(1, searchCache.size());
+        searchCache.get("дрель", null, loader());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void onUserDeleted_thenAllDropped() {
+        searchCache.get("дрель", null, loader());
+        searchCache.get("отвертка", null, loader());
+
+        searchCache.onUserDeleted(new UserDeletedEvent(1L));
+
+        assertEquals(0, searchCache.size());
+    }
+
+    private Supplier<List<ItemDtoResponse>> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(ItemDtoResponse.builder().id(item.getId()).name(item.getName()).build());
+        };
+    }
+}
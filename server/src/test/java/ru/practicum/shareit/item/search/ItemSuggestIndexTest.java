@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemDeletedEvent;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.TestInitDataUtil.makeItem;
+import static ru.practicum.shareit.TestInitDataUtil.makeUser;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSuggestIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+    @InjectMocks
+    private ItemSuggestIndex suggestIndex;
+
+    private final User owner = makeUser(1L, "Jon", "jon@mail.ru");
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        items = List.of(
+                makeItem(1L, "Отвертка крестовая", "description", true, owner, null),
+                makeItem(2L, "Отвертка плоская", "description", true, owner, null),
+                makeItem(3L, "Отвес строительный", "description", true, owner, null),
+                makeItem(4L, "Отбойный молоток", "description", false, owner, null)
+        );
+        when(itemRepository.findAllByIdGreaterThan(eq(0L), any())).thenReturn(items);
+        suggestIndex.rebuild();
+    }
+
+    @Test
+    void suggest_thenMostFrequentFirst() {
+        assertEquals(List.of("отвертка", "отвес"), suggestIndex.suggest("ОТВ", 10));
+        assertEquals(List.of("отвертка"), suggestIndex.suggest("отв", 1));
+        assertEquals(List.of("крестовая"), suggestIndex.suggest("отвертка кр", 10));
+    }
+
+    @Test
+    void suggest_whenUnavailableOrUnknown_thenEmpty() {
+        assertTrue(suggestIndex.suggest("отб", 10).isEmpty());
+        assertTrue(suggestIndex.suggest("дрель", 10).isEmpty());
+        assertTrue(suggestIndex.suggest(" ", 10).isEmpty());
+    }
+
+    @Test
+    void onItemChanged_whenCreated() {
+        for (long id = 5; id <= 7; id++) {
+            suggestIndex.onItemChanged(ItemChangedEvent.created(
+                    makeItem(id, "Отвес", "description", true, owner, null)));
+        }
+
+        assertEquals(List.of("отвес", "отвертка"), suggestIndex.suggest("от", 10));
+    }
+
+    @Test
+    void onItemChanged_whenAvailableChanged() {
+        final Item unavailable = items.get(2).toBuilder().available(false).build();
+        suggestIndex.onItemChanged(ItemChangedEvent.updated(items.get(2), unavailable));
+        assertEquals(List.of("отвертка"), suggestIndex.suggest("отв", 10));
+
+        final Item available = items.get(3).toBuilder().available(true).build();
+        suggestIndex.onItemChanged(ItemChangedEvent.updated(items.get(3), available));
+        assertEquals(List.of("отбойный"), suggestIndex.suggest("отб", 10));
+    }
+
+    @Test
+    void onItemChanged_whenRenamed() {
+        final Item renamed = items.get(2).toBuilder().name("Уровень строительный").build();
+        suggestIndex.onItemChanged(ItemChangedEvent.updated(items.get(2), renamed));
+
+        assertEquals(List.of("отвертка"), suggestIndex.suggest("отв", 10));
+        assertEquals(List.of("уровень"), suggestIndex.suggest("у", 10));
+        assertEquals(List.of("строительный"), suggestIndex.suggest("стр", 10));
+    }
+
+    @Test
+    void onItemDeleted_thenNotSuggested() {
+        suggestIndex.onItemDeleted(ItemDeletedEvent.of(items.get(2)));
+
+        assertEquals(List.of("отвертка"), suggestIndex.suggest("отв", 10));
+    }
+
+    @Test
+    void onItemDeleted_whenMadeForDeletedUserRequest_thenNotSuggested() {
+        final User requester = makeUser(2L, "Jane", "jane@mail.ru");
+        final ItemRequest request = ItemRequest.builder().id(1L).description("Нужен уровень").requester(requester).build();
+        final Item item = makeItem(5L, "Уровень лазерный", "description", true, owner, request);
+        suggestIndex.onItemChanged(ItemChangedEvent.created(item));
+        assertEquals(List.of("уровень"), suggestIndex.suggest("ур", 10));
+
+        suggestIndex.onItemDeleted(ItemDeletedEvent.of(item));
+
+        assertTrue(suggestIndex.suggest("ур", 10).isEmpty());
+        assertTrue(suggestIndex.suggest("лаз", 10).isEmpty());
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingListTest {
+    @Test
+    void add_whenAscending_thenAppended() {
+        final PostingList list = new PostingList();
+        list.add(1);
+        list.add(300);
+        list.add(5_000_000_000L);
+
+        assertArrayEquals(new long[]{1, 300, 5_000_000_000L}, list.toArray());
+        assertEquals(3, list.size());
+    }
+
+    @Test
+    void add_whenNotAscending_thenKeptSortedWithoutDuplicates() {
+        final PostingList list = new PostingList();
+        list.add(10);
+        list.add(200);
+        list.add(5);
+        list.add(150);
+        list.add(10);
+
+        assertArrayEquals(new long[]{5, 10, 150, 200}, list.toArray());
+    }
+
+    @Test
+    void remove() {
+        final PostingList list = new PostingList();
+        for (long id = 1; id <= 1000; id++) {
+            list.add(id * 7);
+        }
+        list.remove(7);
+        list.remove(700);
+        list.remove(7000);
+        list.remove(3);
+
+        final long[] ids = list.toArray();
+        assertEquals(997, ids.length);
+        assertEquals(14, ids[0]);
+        assertEquals(6993, ids[ids.length - 1]);
+
+        list.add(7001);
+        assertEquals(7001, list.toArray()[list.size() - 1]);
+    }
+
+    @Test
+    void remove_whenLastId_thenEmpty() {
+        final PostingList list = new PostingList();
+        list.add(42);
+        list.remove(42);
+
+        assertTrue(list.isEmpty());
+        list.add(1);
+        assertArrayEquals(new long[]{1}, list.toArray());
+    }
+}
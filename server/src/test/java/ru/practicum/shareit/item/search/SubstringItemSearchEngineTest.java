@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.TestInitDataUtil.makeItem;
+import static ru.practicum.shareit.TestInitDataUtil.makeUser;
+import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ACS;
+
+@ExtendWith(MockitoExtension.class)
+class SubstringItemSearchEngineTest {
+    @Mock
+    private ItemRepository itemRepository;
+    @InjectMocks
+    private SubstringItemSearchEngine searchEngine;
+
+    private final Item item = makeItem(1L, "item1", "item1 description", true,
+            makeUser(1L, "Jon", "jon@mail.ru"), null);
+
+    @Test
+    void search() {
+        when(itemRepository.findAllByNameOrDescriptionIgnoreCase("item", SORT_BY_ID_ACS)).thenReturn(List.of(item));
+
+        assertEquals(List.of(item), searchEngine.search("item", null));
+        verify(itemRepository, times(1)).findAllByNameOrDescriptionIgnoreCase("item", SORT_BY_ID_ACS);
+    }
+
+    @Test
+    void search_Pagination() {
+        final PageRequest page = PageRequest.of(0, 1, SORT_BY_ID_ACS);
+        when(itemRepository.findAllByNameOrDescriptionIgnoreCase("item", page)).thenReturn(new PageImpl<>(List.of(item)));
+
+        assertEquals(List.of(item), searchEngine.search("item", page));
+        verify(itemRepository, times(1)).findAllByNameOrDescriptionIgnoreCase("item", page);
+    }
+
+    @Test
+    void matches_whenSubstringOfNameOrDescription() {
+        assertTrue(searchEngine.matches("EM1", "item1", null));
+        assertTrue(searchEngine.matches("1 desc", "item1", "item1 description"));
+        assertFalse(searchEngine.matches("item2", "item1", "item1 description"));
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemDeletedEvent;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.TestInitDataUtil.makeItem;
+import static ru.practicum.shareit.TestInitDataUtil.makeUser;
+import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ACS;
+
+@ExtendWith(MockitoExtension.class)
+class TrigramItemSearchEngineTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private TrigramItemSearchEngine searchEngine;
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        final User owner = makeUser(1L, "Jon", "jon@mail.ru");
+        items = List.of(
+                makeItem(1L, "Шуруповерт", "Аккумуляторная дрель-шуруповерт", true, owner, null),
+                makeItem(2L, "Дрель", "Простая дрель", true, owner, null),
+                makeItem(3L, "Отвертка", "Крестовая отвертка", true, owner, null),
+                makeItem(4L, "Дрель ударная", "Недоступна", false, owner, null)
+        );
+        when(itemRepository.findAllByIdGreaterThan(eq(0L), any())).thenReturn(items);
+        searchEngine = new TrigramItemSearchEngine(itemRepository, 0.5);
+        searchEngine.rebuild();
+    }
+
+    @Test
+    void findIds_whenMatchInName_thenRankedHigher() {
+        assertEquals(List.of(2L, 1L), searchEngine.findIds("дрель", null));
+    }
+
+    @Test
+    void findIds_whenMisspelled_thenFound() {
+        assertEquals(List.of(2L, 1L), searchEngine.findIds("дрль", null));
+        assertEquals(List.of(3L), searchEngine.findIds("атвертка", null));
+    }
+
+    @Test
+    void findIds_whenNotSimilar_thenEmpty() {
+        assertTrue(searchEngine.findIds("молоток", null).isEmpty());
+        assertTrue(searchEngine.findIds(" ,. ", null).isEmpty());
+    }
+
+    @Test
+    void findIds_Pagination() {
+        assertEquals(List.of(2L), searchEngine.findIds("дрель", PageRequest.of(0, 1, SORT_BY_ID_ACS)));
+        assertEquals(List.of(1L), searchEngine.findIds("дрель", PageRequest.of(1, 1, SORT_BY_ID_ACS)));
+        assertTrue(searchEngine.findIds("дрель", PageRequest.of(2, 1, SORT_BY_ID_ACS)).isEmpty());
+    }
+
+    @Test
+    void onItemChanged_whenUpdated_thenReindexed() {
+        final Item previous = items.get(3).toBuilder().build();
+        final Item updated = items.get(3).toBuilder().name("Перфоратор").available(true).build();
+        searchEngine.onItemChanged(ItemChangedEvent.updated(previous, updated));
+
+        assertEquals(List.of(4L), searchEngine.findIds("перфоратор", null));
+        assertEquals(List.of(2L, 1L), searchEngine.findIds("дрель", null));
+    }
+
+    @Test
+    void onItemDeleted_thenNotFound() {
+        searchEngine.onItemDeleted(ItemDeletedEvent.of(items.get(1)));
+
+        assertEquals(List.of(1L), searchEngine.findIds("дрель", null));
+    }
+
+    @Test
+    void countTrigrams() {
+        assertEquals(4, TrigramItemSearchEngine.countTrigrams("Дом").size());
+        assertEquals(2, TrigramItemSearchEngine.countTrigrams("да да").get(" да"));
+    }
+
+    @Test
+    void matches_whenSimilarToNameOrDescription() {
+        assertTrue(searchEngine.matches("дрль", "Дрель", null));
+        assertTrue(searchEngine.matches("аккумулятор", "Шуруповерт", "Аккумуляторная дрель"));
+        assertFalse(searchEngine.matches("молоток", "Дрель", "Простая дрель"));
+    }
+}
@@ -8,9 +8,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -19,6 +21,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -120,4 +123,31 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].description", is(dto.getDescription())))
                 .andExpect(jsonPath("$[0].requester", is(dto.getRequester()), Long.class));
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void getMatches() {
+        final RequestMatchDto match = RequestMatchDto.builder()
+                .requestId(dto.getId())
+                .description(dto.getDescription())
+                .requester(dto.getRequester())
+                .itemId(2L)
+                .itemName("Shoe brush")
+                .score(2)
+                .build();
+        when(service.getMatches(anyLong(), any())).thenReturn(List.of(match));
+
+        mvc.perform(get("/requests/matches")
+                        .header("X-Sharer-User-Id", 2)
+                        .param("from", "20")
+                        .param("size", "10")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].requestId", is(match.getRequestId()), Long.class))
+                .andExpect(jsonPath("$[0].itemId", is(match.getItemId()), Long.class))
+                .andExpect(jsonPath("$[0].score", is(match.getScore())));
+
+        verify(service).getMatches(2L, PageRequest.of(2, 10));
+    }
+}
@@ -0,0 +1,166 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.util.Constants.SORT_BY_REQUEST_CREATE_DATE_DESC;
+
+class ItemRequestFeedTest {
+    private final long requesterId = 1L;
+    private final long otherId = 2L;
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<ItemRequestDtoResponse> stored = new ArrayList<>();
+    private LocalDateTime currentTime;
+
+    @BeforeEach
+    void setUp() {
+        currentTime = LocalDateTime.now();
+        for (long id = 1; id <= 4; id++) {
+            stored.add(0, request(id, id % 2 == 0 ? otherId : requesterId, currentTime.minusHours(10 - id)));
+        }
+    }
+
+    @Test
+    void find_whenLoaded_thenFilteredWithoutReload() {
+        final ItemRequestFeed feed = new ItemRequestFeed(10);
+
+        final List<ItemRequestDtoResponse> forRequester = feed.find(requesterId, null, loader()).orElseThrow();
+        final List<ItemRequestDtoResponse> forOther = feed.find(otherId, null, loader()).orElseThrow();
+
+        assertEquals(List.of(4L, 2L), ids(forRequester));
+        assertEquals(List.of(3L, 1L), ids(forOther));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void find_whenPageBeyondKeptRequests_thenEmpty() {
+        final ItemRequestFeed feed = new ItemRequestFeed(3);
+
+        final Optional<List<ItemRequestDtoResponse>> firstPage = feed.find(requesterId, page(0, 1), loader());
+        final Optional<List<ItemRequestDtoResponse>> secondPage = feed.find(requesterId, page(2, 1), loader());
+
+        assertEquals(List.of(4L), ids(firstPage.orElseThrow()));
+        assertTrue(secondPage.isEmpty());
+        assertTrue(feed.find(requesterId, null, loader()).isEmpty());
+    }
+
+    @Test
+    void onRequestCreated_thenFirstInFeed() {
+        final ItemRequestFeed feed = new ItemRequestFeed(10);
+        feed.find(requesterId, null, loader());
+
+        feed.onRequestCreated(new ItemRequestCreatedEvent(request(5L, otherId, currentTime)));
+
+        assertEquals(List.of(5L, 4L), ids(feed.find(requesterId, page(0, 2), loader()).orElseThrow()));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void onRequestCreated_whenCapacityExceeded_thenOldestDropped() {
+        final ItemRequestFeed feed = new ItemRequestFeed(4);
+        feed.find(requesterId, null, loader());
+
+        feed.onRequestCreated(new ItemRequestCreatedEvent(request(5L, otherId, currentTime)));
+
+        assertEquals(4, feed.size());
+        assertTrue(feed.find(otherId, null, loader()).isEmpty());
+    }
+
+    @Test
+    void onItemChanged_whenLinkedToRequest_thenItemAddedOrReplaced() {
+        final ItemRequestFeed feed = new ItemRequestFeed(10);
+        feed.find(requesterId, null, loader());
+        final ItemRequest itemRequest = ItemRequest.builder().id(4L).build();
+        final Item item = Item.builder().id(7L).name("Дрель").description("Простая дрель").available(true)
+                .request(itemRequest).build();
+
+        feed.onItemChanged(ItemChangedEvent.created(item));
+        feed.onItemChanged(ItemChangedEvent.updated(item, item.toBuilder().available(false).build()));
+
+        final ItemRequestDtoResponse request = feed.find(requesterId, page(0, 1), loader()).orElseThrow().get(0);
+        assertEquals(1, request.getItems().size());
+        assertEquals(7L, request.getItems().get(0).getId());
+        assertFalse(request.getItems().get(0).isAvailable());
+    }
+
+    @Test
+    void onUserDeleted_thenReloaded() {
+        final ItemRequestFeed feed = new ItemRequestFeed(10);
+        feed.find(requesterId, null, loader());
+
+        feed.onUserDeleted(new UserDeletedEvent(otherId));
+        feed.find(requesterId, null, loader());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void find_whenRequestCreatedWhileLoading_thenNotKept() {
+        final ItemRequestFeed feed = new ItemRequestFeed(10);
+
+        feed.find(requesterId, null, limit -> {
+            feed.onRequestCreated(new ItemRequestCreatedEvent(request(5L, otherId, currentTime)));
+            return loader().apply(limit);
+        });
+        feed.find(requesterId, null, loader());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onRequestCreated_whenLoadedAfterCommit_thenNotDuplicated() {
+        final ItemRequestFeed feed = new ItemRequestFeed(10);
+        final ItemRequestDtoResponse created = request(5L, otherId, currentTime);
+        stored.add(0, created);
+        feed.find(requesterId, null, loader());
+
+        feed.onRequestCreated(new ItemRequestCreatedEvent(created));
+
+        assertEquals(5, feed.size());
+        assertEquals(List.of(5L, 4L, 2L), ids(feed.find(requesterId, null, loader()).orElseThrow()));
+        assertEquals(1, loads.get());
+    }
+
+    private IntFunction<List<ItemRequestDtoResponse>> loader() {
+        return limit -> {
+            loads.incrementAndGet();
+            return stored.stream().limit(limit).collect(Collectors.toList());
+        };
+    }
+
+    private static ItemRequestDtoResponse request(long id, long requesterId, LocalDateTime created) {
+        return ItemRequestDtoResponse.builder()
+                .id(id)
+                .description("request " + id)
+                .requester(requesterId)
+                .created(created)
+                .items(Collections.emptyList())
+                .build();
+    }
+
+    private static PageRequest page(int number, int size) {
+        return PageRequest.of(number, size, SORT_BY_REQUEST_CREATE_DATE_DESC);
+    }
+
+    private static List<Long> ids(List<ItemRequestDtoResponse> requests) {
+        return requests.stream().map(ItemRequestDtoResponse::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.request;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.TestInitDataUtil;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.util.Constants.SORT_BY_REQUEST_CREATE_DATE_DESC;
+
+/**
+ * Request lists must load the requests and all their items with two statements,
+ * whatever the number of requests
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ItemRequestListQueryCountTest {
+    private static final int REQUESTS = 30;
+    private static final int ITEMS_PER_REQUEST = 2;
+
+    @Autowired
+    private ItemRequestRepository requestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ItemRequestService requestService;
+    private User requester;
+    private User owner;
+
+    @BeforeEach
+    void init() {
+        final List<User> users = TestInitDataUtil.getUserList(userRepository);
+        requester = users.get(0);
+        owner = users.get(1);
+        final LocalDateTime created = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < REQUESTS; i++) {
+            final ItemRequest request = requestRepository.save(ItemRequest.builder()
+                    .description("request " + i)
+                    .requester(requester)
+                    .created(created.plusMinutes(i))
+                    .build());
+            for (int j = 0; j < ITEMS_PER_REQUEST; j++) {
+                itemRepository.save(Item.builder()
+                        .name("item " + i + "-" + j)
+                        .description("description " + i + "-" + j)
+                        .available(true)
+                        .owner(owner)
+                        .request(request)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        final UserService userService = mock(UserService.class);
+        when(userService.existUser(anyLong())).thenReturn(true);
+        requestService = new ItemRequestServiceImpl(requestRepository, userRepository, userService, itemRepository,
+                new ItemRequestFeed(0), mock(ApplicationEventPublisher.class), mock(RequestMatchRepository.class));
+    }
+
+    @Test
+    void getAllByRequestOwner_thenTwoStatements() {
+        final Statistics statistics = startStatistics();
+
+        final List<ItemRequestDtoResponse> requests = requestService.getAllByRequestOwner(requester.getId());
+
+        assertEquals(REQUESTS, requests.size());
+        requests.forEach(request -> {
+            assertEquals(ITEMS_PER_REQUEST, request.getItems().size());
+            assertEquals(requester.getId(), request.getRequester().longValue());
+        });
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllFromOtherUsers_thenTwoStatements() {
+        final Statistics statistics = startStatistics();
+
+        final List<ItemRequestDtoResponse> requests = requestService.getAllFromOtherUsers(owner.getId(), null);
+
+        assertEquals(REQUESTS, requests.size());
+        requests.forEach(request -> assertEquals(ITEMS_PER_REQUEST, request.getItems().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllFromOtherUsers_withPagination_thenTwoStatements() {
+        final Statistics statistics = startStatistics();
+
+        final List<ItemRequestDtoResponse> requests = requestService.getAllFromOtherUsers(owner.getId(),
+                PageRequest.of(1, 10, SORT_BY_REQUEST_CREATE_DATE_DESC));
+
+        assertEquals(10, requests.size());
+        assertEquals("request " + (REQUESTS - 11), requests.get(0).getDescription());
+        requests.forEach(request -> assertEquals(ITEMS_PER_REQUEST, request.getItems().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private Statistics startStatistics() {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
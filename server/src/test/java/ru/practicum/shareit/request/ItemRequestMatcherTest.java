@@ -0,0 +1,175 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
+import ru.practicum.shareit.request.model.RequestMatch;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.TestInitDataUtil.makeItem;
+import static ru.practicum.shareit.TestInitDataUtil.makeUser;
+
+@ExtendWith(MockitoExtension.class)
+class ItemRequestMatcherTest {
+    @Mock
+    private ItemSearchEngine searchEngine;
+    @Mock
+    private ItemRequestRepository requestRepository;
+    @Mock
+    private RequestMatchRepository matchRepository;
+
+    private final User requester = makeUser(1L, "Jon", "jon@mail.ru");
+    private final User owner = makeUser(2L, "Jane", "jane@mail.ru");
+    private final User otherOwner = makeUser(3L, "Mary", "mary@mail.ru");
+    private Item drill;
+    private Item hammerDrill;
+
+    @BeforeEach
+    void setUp() {
+        drill = makeItem(1L, "Дрель", "Простая дрель", true, owner, null);
+        hammerDrill = makeItem(2L, "Дрель", "Ударная дрель", true, otherOwner, null);
+    }
+
+    @Test
+    void matchPending_thenWordsSearchedOncePerBatch() {
+        final Map<String, List<Item>> candidates = Map.of(
+                "дрель", List.of(drill, hammerDrill),
+                "ударная", List.of(hammerDrill));
+        when(requestRepository.findExistingIds(any())).thenReturn(Set.of(1L, 2L));
+        when(searchEngine.search(anyString(), any()))
+                .thenAnswer(invocation -> candidates.getOrDefault(invocation.getArgument(0), Collections.emptyList()));
+        final ItemRequestMatcher matcher = new ItemRequestMatcher(searchEngine, requestRepository, matchRepository, 10, 20);
+        matcher.onRequestCreated(new ItemRequestCreatedEvent(request(1L, "Нужна ударная дрель", requester)));
+        matcher.onRequestCreated(new ItemRequestCreatedEvent(request(2L, "Дрель для ремонта", owner)));
+
+        final int matched = matcher.matchPending();
+
+        assertEquals(3, matched);
+        assertEquals(0, matcher.pendingCount());
+        final List<RequestMatch> matches = captureMatches();
+        assertEquals(List.of("1:2:2", "1:1:1", "2:2:1"), matches.stream()
+                .map(match -> match.getRequest().getId() + ":" + match.getItem().getId() + ":" + match.getScore())
+                .collect(Collectors.toList()));
+        assertEquals(otherOwner, matches.get(0).getOwner());
+        verify(searchEngine, times(1)).search(eq("дрель"), any());
+        verify(searchEngine, times(5)).search(anyString(), any());
+    }
+
+    @Test
+    void matchPending_whenMoreCandidatesThanLimit_thenBestKept() {
+        when(requestRepository.findExistingIds(any())).thenReturn(Set.of(1L));
+        when(searchEngine.search(anyString(), any())).thenAnswer(invocation ->
+                "ударная".equals(invocation.getArgument(0)) ? List.of(hammerDrill) : List.of(drill, hammerDrill));
+        final ItemRequestMatcher matcher = new ItemRequestMatcher(searchEngine, requestRepository, matchRepository, 10, 1);
+        matcher.onRequestCreated(new ItemRequestCreatedEvent(request(1L, "Ударная дрель", requester)));
+
+        matcher.matchPending();
+
+        final List<RequestMatch> matches = captureMatches();
+        assertEquals(1, matches.size());
+        assertEquals(hammerDrill, matches.get(0).getItem());
+        assertEquals(2, matches.get(0).getScore());
+    }
+
+    @Test
+    void matchPending_whenRequestDeleted_thenSkipped() {
+        when(requestRepository.findExistingIds(any())).thenReturn(Collections.emptySet());
+        final ItemRequestMatcher matcher = new ItemRequestMatcher(searchEngine, requestRepository, matchRepository, 10, 20);
+        matcher.onRequestCreated(new ItemRequestCreatedEvent(request(1L, "Ударная дрель", requester)));
+
+        assertEquals(0, matcher.matchPending());
+        verify(searchEngine, never()).search(anyString(), any());
+    }
+
+    @Test
+    void matchPending_whenMoreRequestsThanBatch_thenRestLeftForNextRun() {
+        final ItemRequestMatcher matcher = new ItemRequestMatcher(searchEngine, requestRepository, matchRepository, 1, 20);
+        when(requestRepository.findExistingIds(any())).thenReturn(Collections.emptySet());
+        matcher.onRequestCreated(new ItemRequestCreatedEvent(request(1L, "Ударная дрель", requester)));
+        matcher.onRequestCreated(new ItemRequestCreatedEvent(request(2L, "Молоток", requester)));
+
+        matcher.matchPending();
+
+        assertEquals(1, matcher.pendingCount());
+        verify(requestRepository, times(1)).findExistingIds(Set.of(1L));
+    }
+
+    @Test
+    void matchPending_whenNothingQueued_thenNoQuery() {
+        final ItemRequestMatcher matcher = new ItemRequestMatcher(searchEngine, requestRepository, matchRepository, 10, 20);
+
+        assertEquals(0, matcher.matchPending());
+        verify(requestRepository, never()).findExistingIds(any());
+        verify(matchRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void matchPending_whenSaveFails_thenRequeuedOnce() {
+        when(requestRepository.findExistingIds(any())).thenReturn(Set.of(1L));
+        when(searchEngine.search(anyString(), any())).thenReturn(List.of(drill));
+        doThrow(new DataIntegrityViolationException("item is deleted")).when(matchRepository).flush();
+        final ItemRequestMatcher matcher = new ItemRequestMatcher(searchEngine, requestRepository, matchRepository, 10, 20);
+        matcher.onRequestCreated(new ItemRequestCreatedEvent(request(1L, "Ударная дрель", requester)));
+
+        assertThrows(DataIntegrityViolationException.class, matcher::matchPending);
+        assertEquals(1, matcher.pendingCount());
+
+        assertThrows(DataIntegrityViolationException.class, matcher::matchPending);
+        assertEquals(0, matcher.pendingCount());
+    }
+
+    @Test
+    void matchPending_whenRetrySucceeds_thenMatched() {
+        when(requestRepository.findExistingIds(any())).thenReturn(Set.of(1L));
+        when(searchEngine.search(anyString(), any())).thenReturn(List.of(drill));
+        doThrow(new DataIntegrityViolationException("item is deleted")).doNothing().when(matchRepository).flush();
+        final ItemRequestMatcher matcher = new ItemRequestMatcher(searchEngine, requestRepository, matchRepository, 10, 20);
+        matcher.onRequestCreated(new ItemRequestCreatedEvent(request(1L, "Ударная дрель", requester)));
+
+        assertThrows(DataIntegrityViolationException.class, matcher::matchPending);
+
+        assertEquals(1, matcher.matchPending());
+        assertEquals(0, matcher.pendingCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<RequestMatch> captureMatches() {
+        final ArgumentCaptor<List<RequestMatch>> captor = ArgumentCaptor.forClass(List.class);
+        verify(matchRepository, times(1)).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ItemRequestDtoResponse request(long id, String description, User requester) {
+        return ItemRequestDtoResponse.builder()
+                .id(id)
+                .description(description)
+                .requester(requester.getId())
+                .created(LocalDateTime.now())
+                .items(Collections.emptyList())
+                .build();
+    }
+}
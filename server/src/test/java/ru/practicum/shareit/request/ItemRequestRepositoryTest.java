@@ -6,7 +6,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
@@ -90,21 +89,30 @@ class ItemRequestRepositoryTest {
     void testFindAllByRequesterIdNotWithPagination() {
         final long userId = user.getId();
         PageRequest page = PageRequest.of(0, 20, Constants.SORT_BY_REQUEST_CREATE_DATE_DESC);
-        final Optional<Page<ItemRequest>> actualRequests = Optional.ofNullable(
+        final Optional<List<ItemRequest>> actualRequests = Optional.ofNullable(
                 requestRepository.findAllByRequesterIdNot(userId, page));
 
         assertThat(actualRequests)
                 .isPresent()
                 .hasValueSatisfying(itemRequests -> {
-                    assertThat(itemRequests.getContent()).isNotEmpty();
-                    assertThat(itemRequests.getContent()).hasSize(1);
-                    assertThat(itemRequests.getContent()).element(0)
+                    assertThat(itemRequests).isNotEmpty();
+                    assertThat(itemRequests).hasSize(1);
+                    assertThat(itemRequests).element(0)
                             .hasFieldOrPropertyWithValue("id", requestList.get(1).getId());
-                    assertThat(itemRequests.getContent()).element(0)
+                    assertThat(itemRequests).element(0)
                             .hasFieldOrPropertyWithValue("description", "Would like to use a screwdriver");
                 });
     }
 
+    @Test
+    void findExistingIds() {
+        final long existingId = requestList.get(0).getId();
+        final long missingId = requestList.get(1).getId() + 100;
+
+        assertThat(requestRepository.findExistingIds(List.of(existingId, missingId)))
+                .containsExactly(existingId);
+    }
+
     @NotNull
     private ItemRequest getRequest(String description, User author) {
         return requestRepository.save(ItemRequest.builder()
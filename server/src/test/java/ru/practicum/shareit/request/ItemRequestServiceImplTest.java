@@ -6,15 +6,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.TestInitDataUtil;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.RequestMatch;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
@@ -29,11 +33,13 @@ import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.TestInitDataUtil.getUserList;
+import static ru.practicum.shareit.TestInitDataUtil.makeItem;
 import static ru.practicum.shareit.util.Constants.MSG_USER_WITH_ID_NOT_FOUND;
 import static ru.practicum.shareit.util.Constants.SORT_BY_REQUEST_CREATE_DATE_DESC;
 
@@ -45,6 +51,14 @@ class ItemRequestServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private UserService userService;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemRequestFeed requestFeed;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private RequestMatchRepository matchRepository;
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
     private List<User> userList;
@@ -116,19 +130,22 @@ class ItemRequestServiceImplTest {
         final User user = userList.get(0);
         final long userId = user.getId();
         final List<ItemRequest> exitedRequestList = List.of(requestList.get(0), requestList.get(2));
+        final Item item = makeItem(1L, "screwdriver", "screwdriver description", true, userList.get(2), requestList.get(2));
         final List<ItemRequestDtoResponse> exitedDtoList = List.of(
-                ItemRequestMapper.toDto(requestList.get(0)),
-                ItemRequestMapper.toDto(requestList.get(2)));
+                ItemRequestMapper.toDto(requestList.get(0), Collections.emptyList()),
+                ItemRequestMapper.toDto(requestList.get(2), List.of(item)));
 
         when(userService.existUser(anyLong())).thenReturn(true);
         when(itemRequestRepository.findAllByRequesterId(anyLong()))
                 .thenReturn(exitedRequestList);
+        when(itemRepository.findAllByRequestIdIn(any())).thenReturn(List.of(item));
 
         final List<ItemRequestDtoResponse> actualRequestList = itemRequestService.getAllByRequestOwner(userId);
         assertIterableEquals(exitedDtoList, actualRequestList);
 
         verify(userService, times(1)).existUser(userId);
         verify(itemRequestRepository, times(1)).findAllByRequesterId(userId);
+        verify(itemRepository, times(1)).findAllByRequestIdIn(List.of(requestList.get(0).getId(), requestList.get(2).getId()));
     }
 
     @Test
@@ -159,6 +176,7 @@ class ItemRequestServiceImplTest {
 
         verify(userService, times(1)).existUser(userId);
         verify(itemRequestRepository, times(1)).findAllByRequesterId(userId);
+        verify(itemRepository, never()).findAllByRequestIdIn(any());
     }
 
     @Test
@@ -167,12 +185,13 @@ class ItemRequestServiceImplTest {
         final long userId = user.getId();
         final List<ItemRequest> exitedRequestList = List.of(requestList.get(0), requestList.get(2));
         final List<ItemRequestDtoResponse> exitedDtoList = List.of(
-                ItemRequestMapper.toDto(requestList.get(0)),
-                ItemRequestMapper.toDto(requestList.get(2)));
+                ItemRequestMapper.toDto(requestList.get(0), Collections.emptyList()),
+                ItemRequestMapper.toDto(requestList.get(2), Collections.emptyList()));
 
         when(userService.existUser(anyLong())).thenReturn(true);
         when(itemRequestRepository.findAllByRequesterIdNot(anyLong(), any(Sort.class)))
                 .thenReturn(exitedRequestList);
+        when(itemRepository.findAllByRequestIdIn(any())).thenReturn(Collections.emptyList());
 
         final List<ItemRequestDtoResponse> actualRequestList = itemRequestService.getAllFromOtherUsers(userId, null);
 
@@ -189,12 +208,13 @@ class ItemRequestServiceImplTest {
         final long userId = user.getId();
         final List<ItemRequest> exitedRequestList = List.of(requestList.get(0), requestList.get(2));
         final List<ItemRequestDtoResponse> exitedDtoList = List.of(
-                ItemRequestMapper.toDto(requestList.get(0)),
-                ItemRequestMapper.toDto(requestList.get(2)));
+                ItemRequestMapper.toDto(requestList.get(0), Collections.emptyList()),
+                ItemRequestMapper.toDto(requestList.get(2), Collections.emptyList()));
 
         when(userService.existUser(anyLong())).thenReturn(true);
         when(itemRequestRepository.findAllByRequesterIdNot(anyLong(), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(exitedRequestList));
+                .thenReturn(exitedRequestList);
+        when(itemRepository.findAllByRequestIdIn(any())).thenReturn(Collections.emptyList());
 
         final List<ItemRequestDtoResponse> actualRequestList = itemRequestService.getAllFromOtherUsers(userId, page);
 
@@ -205,6 +225,22 @@ class ItemRequestServiceImplTest {
                 .findAllByRequesterIdNot(userId, page);
     }
 
+    @Test
+    void getAllFromOtherUsers_whenServedByFeed_thenNoQuery() {
+        final PageRequest page = PageRequest.of(0, 1, SORT_BY_REQUEST_CREATE_DATE_DESC);
+        final long userId = userList.get(1).getId();
+        final List<ItemRequestDtoResponse> feedPage = List.of(ItemRequestMapper.toDto(requestList.get(0)));
+
+        when(userService.existUser(anyLong())).thenReturn(true);
+        when(requestFeed.find(anyLong(), any(), any())).thenReturn(Optional.of(feedPage));
+
+        final List<ItemRequestDtoResponse> actualRequestList = itemRequestService.getAllFromOtherUsers(userId, page);
+
+        assertIterableEquals(feedPage, actualRequestList);
+        verify(requestFeed, times(1)).find(eq(userId), eq(page), any());
+        verify(itemRequestRepository, never()).findAllByRequesterIdNot(anyLong(), any(PageRequest.class));
+    }
+
     @Test
     void getAllFromOtherUsers_whenUserNotExist_throwException() {
         final long userId = 5L;
@@ -241,6 +277,7 @@ class ItemRequestServiceImplTest {
 
         verify(userRepository, times(1)).findById(userId);
 //        verify(itemRequestRepository, times(1)).save(itemRequest);
+        verify(eventPublisher, times(1)).publishEvent(new ItemRequestCreatedEvent(exitedRequestDto));
     }
 
     @Test
@@ -259,4 +296,41 @@ class ItemRequestServiceImplTest {
         verify(userRepository, times(1)).findById(userId);
         verify(itemRequestRepository, never()).save(new ItemRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getMatches() {
+        final PageRequest page = PageRequest.of(0, 20);
+        final User owner = userList.get(2);
+        final Item item = makeItem(1L, "screwdriver", "screwdriver description", true, owner, null);
+        final RequestMatch match = RequestMatch.builder()
+                .id(1L)
+                .request(requestList.get(0))
+                .item(item)
+                .owner(owner)
+                .score(1)
+                .build();
+
+        when(userService.existUser(anyLong())).thenReturn(true);
+        when(matchRepository.findAllByOwnerId(anyLong(), any())).thenReturn(List.of(match));
+
+        final List<RequestMatchDto> actualMatches = itemRequestService.getMatches(owner.getId(), page);
+
+        assertIterableEquals(List.of(ItemRequestMapper.toMatchDto(match)), actualMatches);
+        assertEquals(requestList.get(0).getId(), actualMatches.get(0).getRequestId().longValue());
+        assertEquals(item.getId(), actualMatches.get(0).getItemId().longValue());
+        verify(matchRepository, times(1)).findAllByOwnerId(owner.getId(), page);
+    }
+
+    @Test
+    void getMatches_whenUserNotExist_throwException() {
+        final long userId = 5L;
+
+        when(userService.existUser(anyLong())).thenReturn(false);
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> itemRequestService.getMatches(userId, PageRequest.of(0, 20)));
+
+        assertEquals(String.format(MSG_USER_WITH_ID_NOT_FOUND, userId), exception.getMessage());
+        verify(matchRepository, never()).findAllByOwnerId(anyLong(), any());
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.TestInitDataUtil;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.RequestMatch;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class RequestMatchRepositoryTest {
+    @Autowired
+    private RequestMatchRepository matchRepository;
+    @Autowired
+    private ItemRequestRepository requestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    private List<User> users;
+    private List<Item> items;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        users = TestInitDataUtil.getUserList(userRepository);
+        items = TestInitDataUtil.getItemList(itemRepository, users);
+        request = requestRepository.save(ItemRequest.builder()
+                .description("Would like to use a screwdriver")
+                .requester(users.get(2))
+                .created(LocalDateTime.now())
+                .build());
+    }
+
+    @Test
+    void findAllByOwnerId_thenNewestFirstWithRequestAndItem() {
+        final LocalDateTime currentTime = LocalDateTime.now();
+        matchRepository.saveAll(List.of(
+                match(items.get(1), currentTime.minusMinutes(2)),
+                match(items.get(2), currentTime.minusMinutes(1)),
+                match(items.get(0), currentTime)));
+        entityManager.flush();
+        entityManager.clear();
+
+        final List<RequestMatch> matches = matchRepository.findAllByOwnerId(users.get(1).getId(), PageRequest.of(0, 20));
+
+        assertEquals(List.of(items.get(2).getId(), items.get(1).getId()), matches.stream()
+                .map(match -> match.getItem().getId())
+                .collect(Collectors.toList()));
+        assertEquals(request.getDescription(), matches.get(0).getRequest().getDescription());
+        assertEquals(items.get(2).getName(), matches.get(0).getItem().getName());
+    }
+
+    @Test
+    void findAllByOwnerId_withPagination() {
+        final LocalDateTime currentTime = LocalDateTime.now();
+        matchRepository.saveAll(List.of(
+                match(items.get(1), currentTime.minusMinutes(2)),
+                match(items.get(2), currentTime.minusMinutes(1))));
+
+        final List<RequestMatch> matches = matchRepository.findAllByOwnerId(users.get(1).getId(), PageRequest.of(1, 1));
+
+        assertEquals(1, matches.size());
+        assertEquals(items.get(1).getId(), matches.get(0).getItem().getId());
+    }
+
+    private RequestMatch match(Item item, LocalDateTime created) {
+        return RequestMatch.builder()
+                .request(ItemRequest.builder().id(request.getId()).build())
+                .item(item)
+                .owner(item.getOwner())
+                .score(1)
+                .created(created)
+                .build();
+    }
+}
@@ -6,21 +6,29 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.TestInitDataUtil;
 import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemDeletedEvent;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.util.Constants;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -33,13 +41,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.TestInitDataUtil.makeItem;
 import static ru.practicum.shareit.TestInitDataUtil.makeUser;
 import static ru.practicum.shareit.util.Constants.MSG_USER_WITH_ID_NOT_FOUND;
 
@@ -47,6 +58,10 @@ import static ru.practicum.shareit.util.Constants.MSG_USER_WITH_ID_NOT_FOUND;
 class UserServiceTest {
     @Mock
     private UserRepository repository;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private UserServiceImpl service;
     private List<User> userList;
@@ -191,6 +206,20 @@ class UserServiceTest {
 
         verify(repository, times(1)).save(updatedUser);
         verify(repository, times(1)).findById(userId);
+        verify(eventPublisher, times(1)).publishEvent(new UserRenamedEvent(userId));
+    }
+
+    @Test
+    void update_whenNameNotChanged_thenNoRenameEvent() {
+        final User user = userList.get(0);
+        final UserDto dto = UserDto.builder().name(user.getName()).email("jon123@mail.com").build();
+        when(repository.existsByIdNotAndEmail(anyLong(), anyString())).thenReturn(false);
+        when(repository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(repository.save(any())).thenReturn(user);
+
+        service.update(dto, 1L);
+
+        verify(eventPublisher, never()).publishEvent(any(UserRenamedEvent.class));
     }
 
     @ParameterizedTest
@@ -268,9 +297,68 @@ class UserServiceTest {
 
         service.delete(userId);
 
+        verify(itemRepository, times(1)).decrementCommentCountsByAuthor(userId);
         verify(repository, times(1)).deleteById(userId);
+        verify(eventPublisher, times(1)).publishEvent(new UserDeletedEvent(userId));
+    }
+
+
+    @Test
+    void delete_whenUserHasItems_thenItemDeletedEvents() {
+        final long userId = 1L;
+        final Item item = makeItem(1L, "Дрель", "Простая дрель", true, userList.get(0), null);
+        when(repository.existsById(anyLong())).thenReturn(true);
+        when(itemRepository.findAllByOwnerId(userId, Sort.unsorted())).thenReturn(List.of(item));
+
+        service.delete(userId);
+
+        verify(eventPublisher, times(1)).publishEvent(ItemDeletedEvent.of(item));
+        verify(eventPublisher, times(1)).publishEvent(new UserDeletedEvent(userId));
+    }
+
+    @Test
+    void delete_whenUserBookedItems_thenBookingPointersRefreshed() {
+        final long userId = 1L;
+        when(repository.existsById(anyLong())).thenReturn(true);
+        when(itemRepository.findIdsByBookingPointerBooker(userId)).thenReturn(List.of(2L, 3L));
+
+        service.delete(userId);
+
+        final InOrder inOrder = inOrder(repository, itemRepository);
+        inOrder.verify(repository).deleteById(userId);
+        inOrder.verify(repository).flush();
+        inOrder.verify(itemRepository).refreshBookingPointers(eq(List.of(2L, 3L)), any(LocalDateTime.class));
     }
 
+    @Test
+    void delete_whenItemsMadeForUserRequests_thenItemDeletedEvents() {
+        final long userId = 1L;
+        final ItemRequest request = ItemRequest.builder().id(1L).description("Нужна дрель").requester(userList.get(0)).build();
+        final Item item = makeItem(2L, "Дрель", "Простая дрель", true, userList.get(1), request);
+        when(repository.existsById(anyLong())).thenReturn(true);
+        when(itemRepository.findAllByRequestRequesterIdAndOwnerIdNot(userId, userId)).thenReturn(List.of(item));
+
+        service.delete(userId);
+
+        verify(eventPublisher, times(1)).publishEvent(ItemDeletedEvent.of(item));
+    }
+
+    @Test
+    void delete_whenOwnAndRequestedItems_thenEachItemDeletedOnce() {
+        final long userId = 1L;
+        final ItemRequest request = ItemRequest.builder().id(1L).description("Нужна дрель").requester(userList.get(0)).build();
+        final Item ownItem = makeItem(1L, "Отвертка", "Крестовая отвертка", true, userList.get(0), null);
+        final Item requestedItem = makeItem(2L, "Дрель", "Простая дрель", true, userList.get(1), request);
+        when(repository.existsById(anyLong())).thenReturn(true);
+        when(itemRepository.findAllByOwnerId(userId, Sort.unsorted())).thenReturn(List.of(ownItem));
+        when(itemRepository.findAllByRequestRequesterIdAndOwnerIdNot(userId, userId)).thenReturn(List.of(requestedItem));
+
+        service.delete(userId);
+
+        verify(eventPublisher, times(1)).publishEvent(ItemDeletedEvent.of(ownItem));
+        verify(eventPublisher, times(1)).publishEvent(ItemDeletedEvent.of(requestedItem));
+        verify(eventPublisher, times(2)).publishEvent(any(ItemDeletedEvent.class));
+    }
 
     @Test
     void delete_whenUserNotExists_throwException() {
@@ -282,7 +370,9 @@ class UserServiceTest {
 
         assertEquals(String.format(MSG_USER_WITH_ID_NOT_FOUND, userId), actualException.getMessage());
 
+        verify(itemRepository, never()).decrementCommentCountsByAuthor(anyLong());
         verify(repository, never()).deleteById(userId);
+        verify(eventPublisher, never()).publishEvent(any(UserDeletedEvent.class));
     }
 
     @Test